@@ -0,0 +1,170 @@
+package com.hospital.schedule.solver;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 근무표 솔버 마이크로벤치마크
+ *
+ * 실행: mvn -Pbench test-compile exec:exec
+ *  - Throughput : 초당 처리량
+ *  - SampleTime : 지연 백분위 (p50/p90/p99 ...)
+ *  - -prof gc   : 할당률 (pom 의 bench 프로파일에서 기본으로 켬)
+ *
+ * 모든 난수는 SEED 로 고정 — 같은 파라미터면 같은 입력으로 측정한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    private static final long SEED = 20_250_301L;
+    private static final int  PROBES = 1 << 12; // 미리 뽑아 둔 (직원, 날짜, 타입) 개수
+
+    @Param({"10", "50", "200", "500"})
+    public int employees;
+
+    // 28 / 30 / 31일
+    @Param({"2025-02", "2025-04", "2025-03"})
+    public String yearMonth;
+
+    // 평일 중 공휴일 비율
+    @Param({"0.0", "0.15"})
+    public double holidayDensity;
+
+    private int year, month;
+    private List<Long> empIds;
+    private int[][] required;
+    private Solution base;
+    private AnnealingChain chain;
+
+    private int[] probeEmp, probeDay, probeType;
+    private int probe;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        YearMonth ym = YearMonth.parse(yearMonth);
+        year  = ym.getYear();
+        month = ym.getMonthValue();
+
+        SplittableRandom seeded = new SplittableRandom(SEED);
+        empIds = new ArrayList<>(employees);
+        for (long i = 1; i <= employees; i++) empIds.add(i);
+
+        Set<LocalDate> holidays = new HashSet<>();
+        for (int d = 1; d <= ym.lengthOfMonth(); d++) {
+            LocalDate date = ym.atDay(d);
+            boolean weekday = date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY;
+            if (weekday && seeded.nextDouble() < holidayDensity) holidays.add(date);
+        }
+        required = Coverage.requirements(year, month, holidays);
+
+        base  = InitialSchedule.create(year, month, empIds, required, seeded.split());
+        chain = new AnnealingChain(base, AnnealingChain.INITIAL_T, seeded.split());
+
+        probeEmp  = new int[PROBES];
+        probeDay  = new int[PROBES];
+        probeType = new int[PROBES];
+        for (int k = 0; k < PROBES; k++) {
+            probeEmp[k]  = seeded.nextInt(employees);
+            probeDay[k]  = 1 + seeded.nextInt(base.daysInMonth);
+            probeType[k] = 1 + seeded.nextInt(4);
+        }
+    }
+
+    private int nextProbe() {
+        return probe = (probe + 1) & (PROBES - 1);
+    }
+
+    /** 초기 해 생성 (createInitialSchedule) — 매 호출 같은 시드로 같은 입력을 만든다 */
+    @Benchmark
+    public Solution createInitialSchedule() {
+        return InitialSchedule.create(year, month, empIds, required, new SplittableRandom(SEED));
+    }
+
+    /** 전체 재평가 — 증분 점수 도입 전 evaluate() 와 같은 O(직원 × 일) 스캔 */
+    @Benchmark
+    public double evaluateFull() {
+        return ScoreState.of(base).total();
+    }
+
+    /** 셀 하나 변경 → 점수 → 되돌리기 (SA 루프의 평가 경로) */
+    @Benchmark
+    public double evaluateDelta() {
+        int k = nextProbe();
+        int e = probeEmp[k], d = probeDay[k];
+        int old = base.get(e, d);
+        base.set(e, d, probeType[k]);
+        double score = base.score();
+        base.set(e, d, old);
+        return score;
+    }
+
+    /** 하드 패턴을 깨지 않는 이웃 이동 하나 만들기 + 되돌리기 (makeNeighbor) */
+    @Benchmark
+    public boolean makeNeighbor() {
+        boolean moved = chain.tryMove();
+        if (moved) chain.undoMove();
+        return moved;
+    }
+
+    /** 셀 주변 ±2일 하드 패턴 검사 (violatesHardRule, 이동 1회분) */
+    @Benchmark
+    public boolean violatesHardRuleLocal() {
+        int k = nextProbe();
+        return base.violatesAround(probeEmp[k], probeDay[k]);
+    }
+
+    /** 전체 직원 하드 패턴 검사 (후처리/검증용 전체 스캔) */
+    @Benchmark
+    public void violatesHardRuleFull(Blackhole bh) {
+        for (int i = 0; i < employees; i++) {
+            bh.consume(base.violations(i));
+        }
+    }
+
+    /** 체인 하나로 SA 끝까지 (고정 시드) */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double fullAnnealingRun() {
+        AnnealingChain run = new AnnealingChain(base.copy(), AnnealingChain.INITIAL_T, new SplittableRandom(SEED));
+        run.run(AnnealingChain.MAX_ITER);
+        return run.bestScore();
+    }
+
+    /** 체인 하나로 Tabu Search 끝까지 (고정 시드) */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double fullTabuRun() {
+        return runToEnd(SolverEngine.TABU);
+    }
+
+    /** 체인 하나로 Late Acceptance 끝까지 (고정 시드) */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double fullLateAcceptanceRun() {
+        return runToEnd(SolverEngine.LATE_ACCEPTANCE);
+    }
+
+    private double runToEnd(SolverEngine engine) {
+        SearchChain run = engine.newChain(base.copy(), 0, new SplittableRandom(SEED));
+        while (!run.isDone()) run.run(1_000);
+        return run.bestScore();
+    }
+}
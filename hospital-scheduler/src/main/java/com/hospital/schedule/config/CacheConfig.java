@@ -0,0 +1,10 @@
+package com.hospital.schedule.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// 캐시 이름/크기/TTL 은 application.properties 의 spring.cache.* 참고
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
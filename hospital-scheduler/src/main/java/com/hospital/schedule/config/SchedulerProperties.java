@@ -0,0 +1,66 @@
+package com.hospital.schedule.config;
+
+import com.hospital.schedule.solver.CoverageRules;
+import com.hospital.schedule.solver.SolverEngine;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 근무표 생성기 설정 (application.properties 의 scheduler.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "scheduler")
+public class SchedulerProperties {
+
+    private Solver solver = new Solver();
+    private Job job = new Job();
+    private Coverage coverage = new Coverage();
+
+    @Data
+    public static class Solver {
+        // 요청에서 탐색 전략을 지정하지 않았을 때 쓸 기본값 (annealing | tabu | late_acceptance)
+        private SolverEngine engine = SolverEngine.ANNEALING;
+
+        // 동시에 돌릴 탐색 체인 수 (1 이면 단일 체인)
+        private int chains = 4;
+
+        // 솔버 전용 ForkJoinPool 스레드 수 (0 이면 CPU 코어 수)
+        private int threads = 0;
+
+        // 몇 iteration 마다 체인 간 best 해를 공유할지
+        private int exchangeInterval = 100;
+
+        // 난수 시드 — 정하면 같은 입력에 항상 같은 근무표 (회귀 테스트 / 문제 재현용), 비우면 매번 다름
+        private Long seed;
+
+        // 요청으로 받을 수 있는 시간 예산 상한(초) — 이보다 길게 요청하면 잘라냄
+        private int maxTimeLimitSeconds = 300;
+    }
+
+    @Data
+    public static class Job {
+        // 동시에 실행할 생성 작업 수 (작업 하나가 solverPool 을 통째로 씀)
+        private int threads = 2;
+
+        // 실행 대기열 크기 — 넘치면 제출을 거절 (429)
+        private int queueCapacity = 8;
+
+        // 끝난 작업 상태를 보관하는 시간(분)
+        private int retentionMinutes = 60;
+    }
+
+    @Data
+    public static class Coverage {
+        // 날짜 유형별 D,E,N 최소 인원 (공휴일이 주말과 겹치면 holiday 우선)
+        private int[] weekday  = {3, 2, 2};
+        private int[] saturday = {2, 2, 2};
+        private int[] sunday   = {2, 2, 2};
+        private int[] holiday  = {2, 2, 2};
+
+        public CoverageRules toRules() {
+            return new CoverageRules(weekday, saturday, sunday, holiday);
+        }
+    }
+}
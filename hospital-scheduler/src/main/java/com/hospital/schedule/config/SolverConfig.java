@@ -0,0 +1,24 @@
+package com.hospital.schedule.config;
+
+import com.hospital.schedule.solver.CoverageRules;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class SolverConfig {
+
+    // 🧵 SA 체인 전용 풀 (공용 commonPool 과 분리)
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool solverPool(SchedulerProperties properties) {
+        int threads = properties.getSolver().getThreads();
+        return new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    // 📋 날짜 유형별 최소 인원 — 시작할 때 한 번 검사 (잘못된 scheduler.coverage.* 면 기동 실패)
+    @Bean
+    public CoverageRules coverageRules(SchedulerProperties properties) {
+        return properties.getCoverage().toRules();
+    }
+}
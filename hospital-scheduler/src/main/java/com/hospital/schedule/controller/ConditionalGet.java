@@ -0,0 +1,51 @@
+package com.hospital.schedule.controller;
+
+import com.hospital.schedule.dtos.PageDto;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 조건부 GET — 버전 ETag 가 If-None-Match 와 같으면 조회 / 직렬화 없이 304
+ *
+ * null 을 돌려주면 checkNotModified 가 이미 304 + ETag 를 써 둔 상태로 응답이 끝난다.
+ * 200 응답은 Cache-Control: no-cache (브라우저가 저장하되 매번 ETag 로 재검증).
+ *
+ * ETag 는 약한 검증자(W/"...") — 버전은 데이터가 같다는 뜻이지 바이트가 같다는 뜻이 아니고,
+ * Tomcat 은 강한 ETag 가 붙은 응답은 gzip 하지 않는다. If-None-Match 는 약한 비교로 맞춘다
+ * (W/"x" 와 "x" 모두 일치 — 프록시가 압축하면서 W/ 를 붙이거나 떼도 304).
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> ok(WebRequest request, String version, Supplier<T> load) {
+        String etag = weak(version);
+        if (request.checkNotModified(etag)) return null;
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(load.get());
+    }
+
+    static <T> ResponseEntity<List<T>> page(WebRequest request, String version, Supplier<PageDto<T>> load) {
+        String etag = weak(version);
+        if (request.checkNotModified(etag)) return null;
+        PageDto<T> page = load.get();
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache());
+        if (page.getNextCursor() != null) {
+            ok.header(PageDto.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return ok.body(page.getItems());
+    }
+
+    private static String weak(String version) {
+        return "W/\"" + version + "\"";
+    }
+}
@@ -1,30 +1,50 @@
 package com.hospital.schedule.controller;
 
 import com.hospital.schedule.dtos.EmployeeDto;
+import com.hospital.schedule.dtos.EmployeeImportResultDto;
 import com.hospital.schedule.dtos.EmployeeRequestDto;
+import com.hospital.schedule.dtos.PageDto;
+import com.hospital.schedule.service.EmployeeImportService;
 import com.hospital.schedule.service.EmployeeService;
+import com.hospital.schedule.service.RosterCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/employees")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "http://localhost:3000") // React 연결 대비
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = {PageDto.NEXT_CURSOR_HEADER, HttpHeaders.ETAG}) // React 연결 대비
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
+    private final RosterCache rosterCache;
 
+    // 조회는 직원 버전 ETag — If-None-Match 가 맞으면 쿼리 없이 304
+    // 키셋 페이지 — 다음 페이지 커서는 X-Next-Cursor 헤더로 (마지막 페이지면 없음)
     @GetMapping
-    public List<EmployeeDto> getAll() {
-        return employeeService.getAll();
+    public ResponseEntity<List<EmployeeDto>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request
+    ) {
+        return ConditionalGet.page(request, rosterCache.employeesTag(), () -> employeeService.getPage(cursor, size));
     }
 
     @GetMapping("/{id}")
-    public EmployeeDto getById(@PathVariable Long id) {
-        return employeeService.getById(id);
+    public ResponseEntity<EmployeeDto> getById(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.ok(request, rosterCache.employeesTag(), () -> employeeService.getById(id));
     }
 
     @PostMapping
@@ -33,6 +53,37 @@ public class EmployeeController {
         return "직원 등록 완료!";
     }
 
+    // ============================
+    // 📥 직원 일괄 등록 — 본문을 한 행씩 읽어 검사하고 청크 단위로 저장 (한 트랜잭션)
+    //  - 잘못된 행이 하나라도 있으면 아무것도 저장하지 않고 400 + 행별 오류 목록
+    //  - 예: curl -H 'Content-Type: text/csv' --data-binary @staff.csv .../api/employees/import
+    // ============================
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<EmployeeImportResultDto> importCsv(InputStream body) throws IOException {
+        return importResult(() -> employeeImportService.importCsv(body));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<EmployeeImportResultDto> importJson(InputStream body) throws IOException {
+        return importResult(() -> employeeImportService.importJson(body));
+    }
+
+    private ResponseEntity<EmployeeImportResultDto> importResult(Import run) throws IOException {
+        EmployeeImportResultDto result;
+        try {
+            result = run.get();
+        } catch (IllegalArgumentException e) {
+            // 헤더가 없거나 JSON 배열이 아닌 경우 등 본문 전체 형식 오류
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return ResponseEntity.status(result.isSuccess() ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(result);
+    }
+
+    @FunctionalInterface
+    private interface Import {
+        EmployeeImportResultDto get() throws IOException;
+    }
+
     @PutMapping("/{id}")
     public String updateEmployee(@PathVariable Long id, @Valid @RequestBody EmployeeDto dto) {
         dto.setId(id);
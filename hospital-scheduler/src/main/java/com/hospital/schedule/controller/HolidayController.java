@@ -0,0 +1,38 @@
+package com.hospital.schedule.controller;
+
+import com.hospital.schedule.dtos.HolidayDto;
+import com.hospital.schedule.service.HolidayService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// 공휴일 달력 — 월 근무표 생성 시 공휴일 커버리지(scheduler.coverage.holiday) 적용
+@RestController
+@RequestMapping("/api/holidays")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class HolidayController {
+
+    private final HolidayService holidayService;
+
+    @GetMapping
+    public List<HolidayDto> getByYear(@RequestParam int year) {
+        return holidayService.getByYear(year);
+    }
+
+    @PostMapping
+    public String addHoliday(@Valid @RequestBody HolidayDto dto) {
+        holidayService.add(dto);
+        return "공휴일 등록 완료!";
+    }
+
+    // 예: DELETE /api/holidays/2025-10-03
+    @DeleteMapping("/{date}")
+    public String deleteHoliday(@PathVariable String date) {
+        holidayService.delete(LocalDate.parse(date));
+        return "공휴일 삭제 완료!";
+    }
+}
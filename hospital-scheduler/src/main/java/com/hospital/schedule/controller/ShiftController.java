@@ -1,37 +1,103 @@
 package com.hospital.schedule.controller;
 
+import com.hospital.schedule.dtos.PageDto;
+import com.hospital.schedule.dtos.ShiftBulkEditDto;
+import com.hospital.schedule.dtos.ShiftBulkResultDto;
+import com.hospital.schedule.dtos.ShiftRepairResultDto;
+import com.hospital.schedule.dtos.ScheduleJobDto;
 import com.hospital.schedule.dtos.ShiftDto;
 import com.hospital.schedule.dtos.ShiftRequestDto;
 import com.hospital.schedule.dtos.ShiftUpdateDto;
-import com.hospital.schedule.service.ShiftService;
+import com.hospital.schedule.service.HolidayService;
+import com.hospital.schedule.service.RosterCache;
+import com.hospital.schedule.service.RosterExportService;
+import com.hospital.schedule.service.ScheduleJobService;
 import com.hospital.schedule.service.SchedulingService;
+import com.hospital.schedule.service.ShiftService;
+import com.hospital.schedule.solver.SolverEngine;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.net.URI;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/shifts")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = {PageDto.NEXT_CURSOR_HEADER, HttpHeaders.ETAG, HttpHeaders.LOCATION})
 public class ShiftController {
 
     private final ShiftService shiftService;
+    private final ScheduleJobService scheduleJobService;
     private final SchedulingService schedulingService;
+    private final HolidayService holidayService;
+    private final RosterCache rosterCache;
+    private final RosterExportService rosterExportService;
 
 
     // ============================
     // 1️⃣ 기본 CRUD
     // ============================
+    // 조회는 모두 버전 ETag — If-None-Match 가 맞으면 쿼리 없이 304
+    // 키셋 페이지 — 다음 페이지 커서는 X-Next-Cursor 헤더로 (마지막 페이지면 없음)
     @GetMapping
-    public List<ShiftDto> getAll() {
-        return shiftService.getAll();
+    public ResponseEntity<List<ShiftDto>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request
+    ) {
+        return ConditionalGet.page(request, rosterCache.shiftsTag(), () -> shiftService.getPage(cursor, size));
     }
 
     @GetMapping("/employee/{employeeId}")
-    public List<ShiftDto> getByEmployee(@PathVariable Long employeeId) {
-        return shiftService.getByEmployee(employeeId);
+    public ResponseEntity<List<ShiftDto>> getByEmployee(
+            @PathVariable Long employeeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request
+    ) {
+        return ConditionalGet.page(request, rosterCache.shiftsTag(),
+                () -> shiftService.getByEmployee(employeeId, cursor, size));
+    }
+
+    @GetMapping("/month")
+    public ResponseEntity<List<ShiftDto>> getByMonth(@RequestParam int year, @RequestParam int month,
+                                                     WebRequest request) {
+        return ConditionalGet.ok(request, rosterCache.monthTag(year, month),
+                () -> shiftService.getByMonth(year, month));
+    }
+
+    // end 는 포함하지 않음 (예: start=2025-11-01&end=2025-12-01), 최대 366일 — 잘못된 날짜 / 기간이면 400
+    @GetMapping("/range")
+    public ResponseEntity<List<ShiftDto>> getByRange(@RequestParam String start, @RequestParam String end,
+                                                     WebRequest request) {
+        LocalDate from = parseDate(start), to = parseDate(end);
+        checkRange(from, to);
+        return ConditionalGet.ok(request, rosterCache.shiftsTag(), () -> shiftService.getByRange(from, to));
+    }
+
+    // 같은 기간의 건수만 (행은 읽지 않음)
+    @GetMapping("/range/count")
+    public ResponseEntity<Integer> countByRange(@RequestParam String start, @RequestParam String end,
+                                                WebRequest request) {
+        LocalDate from = parseDate(start), to = parseDate(end);
+        checkRange(from, to);
+        return ConditionalGet.ok(request, rosterCache.shiftsTag(), () -> shiftService.countByRange(from, to));
     }
 
     @PostMapping
@@ -63,29 +129,109 @@ public class ShiftController {
 
 
     // ============================
-    // 3️⃣ 시뮬레이티드 어닐링 월간 자동 생성
+    // 3️⃣ 월간 자동 생성 (SA / Tabu / LAHC) — 작업 제출 → 상태 조회 / 취소
+    //  - 요청 스레드는 기다리지 않음: 202 + Location(작업 상태 URL), 진행은 jobs API / SSE 로 확인
+    //  - engine: ANNEALING | TABU | LATE_ACCEPTANCE (없으면 scheduler.solver.engine)
+    //  - timeLimitSeconds: 이 시간 동안 풀고 best 를 저장 / targetScore: 이 점수 이하면 바로 끝냄
+    //  - /auto/monthly 는 예전 경로 (이제 /auto/monthly/jobs 와 같음)
     // ============================
-    @PostMapping("/auto/monthly")
-    public String generateMonthlySchedule(
+    @PostMapping({"/auto/monthly", "/auto/monthly/jobs"})
+    public ResponseEntity<ScheduleJobDto> submitMonthlyJob(
             @RequestParam int year,
             @RequestParam int month,
+            @RequestParam(required = false) SolverEngine engine,
+            @RequestParam(required = false) Integer timeLimitSeconds,
+            @RequestParam(required = false) Double targetScore,
             @RequestBody List<Long> employeeIds
     ) {
-        Set<LocalDate> holidays = new HashSet<>();
-        Map<Long, List<SchedulingService.ShiftRequest>> requests = new HashMap<>();
+        ScheduleJobDto job = admit(() -> scheduleJobService.submit(
+                year, month, employeeIds, engine, timeLimitSeconds, targetScore));
+        return accepted(job);
+    }
+
+    // 여러 달(기본 분기) 한 번에 — 달별 병렬 생성 후 경계 앞쪽 며칠만 다시 풀어 이어 붙이기, 상태 조회/취소는 위와 같은 jobs API
+    @PostMapping("/auto/horizon/jobs")
+    public ResponseEntity<ScheduleJobDto> submitHorizonJob(
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam(defaultValue = "3") int months,
+            @RequestParam(required = false) SolverEngine engine,
+            @RequestParam(required = false) Integer timeLimitSeconds,
+            @RequestParam(required = false) Double targetScore,
+            @RequestBody List<Long> employeeIds
+    ) {
+        ScheduleJobDto job = admit(() -> scheduleJobService.submit(
+                year, month, months, employeeIds, engine, timeLimitSeconds, targetScore));
+        return accepted(job);
+    }
+
+    @GetMapping("/auto/monthly/jobs/{jobId}")
+    public ScheduleJobDto getMonthlyJob(@PathVariable String jobId) {
+        return scheduleJobService.get(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "작업을 찾을 수 없습니다."));
+    }
+
+    // 진행 상황 스트림 (SSE) — event: status / progress
+    @GetMapping(value = "/auto/monthly/jobs/{jobId}/events", produces = "text/event-stream")
+    public SseEmitter streamMonthlyJob(@PathVariable String jobId) {
+        return scheduleJobService.subscribe(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "작업을 찾을 수 없습니다."));
+    }
+
+    // 조기 종료 — 지금까지의 best 근무표로 끝내고 저장 (취소는 DELETE, 저장 안 함)
+    @PostMapping("/auto/monthly/jobs/{jobId}/stop")
+    public ScheduleJobDto stopMonthlyJob(@PathVariable String jobId) {
+        return scheduleJobService.stop(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "작업을 찾을 수 없습니다."));
+    }
+
+    @DeleteMapping("/auto/monthly/jobs/{jobId}")
+    public ScheduleJobDto cancelMonthlyJob(@PathVariable String jobId) {
+        return scheduleJobService.cancel(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "작업을 찾을 수 없습니다."));
+    }
+
+    // ============================
+    // 3️⃣-2 부분 수정 — 저장된 근무표에서 문제 날짜 주변만 다시 풀고 바뀐 칸만 저장
+    //  - 수기 입력/수정한 근무는 고정, 새 직원은 employeeIds 로 넘김
+    //  - 짧은 작업이라 바로 응답, 그 달을 생성 / 수정 중이면 기다리지 않고 409
+    // ============================
+    @PostMapping("/auto/monthly/repair")
+    public ShiftRepairResultDto repairMonthlySchedule(
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestBody(required = false) List<Long> employeeIds
+    ) {
+        return schedulingService.repairMonth(year, month, employeeIds,
+                holidayService.getDates(YearMonth.of(year, month), 1));
+    }
+
+    // 202 + Location: 작업 상태 조회 URL
+    private static ResponseEntity<ScheduleJobDto> accepted(ScheduleJobDto job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/shifts/auto/monthly/jobs/" + job.getJobId()))
+                .body(job);
+    }
 
-        schedulingService.generateMonthlySchedule(year, month, employeeIds, holidays, requests);
-        return "✅ 시뮬레이티드 어닐링 기반 월 근무표 자동 생성 완료!";
+    // 실행기가 가득 차면 429 로 돌려보냄 (CRUD 요청 스레드 보호)
+    private ScheduleJobDto admit(Supplier<ScheduleJobDto> submit) {
+        try {
+            return submit.get();
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "근무표 생성 요청이 너무 많습니다. 잠시 후 다시 시도하세요.");
+        }
     }
 
 
     // ============================
     // 4️⃣ 근무 수정 기능 (NEW!)
+    //  - 이미 있는 근무만 바꿈 — 없는 칸 / 없는 직원이면 400 (새 근무는 POST /api/shifts)
     // ============================
     @PatchMapping("/update")
-    public Map<String, Object> updateShift(@RequestBody ShiftUpdateDto dto) {
+    public Map<String, Object> updateShift(@Valid @RequestBody ShiftUpdateDto dto) {
 
-        boolean ok = shiftService.updateShift(dto);
+        boolean ok = badRequestOnInvalid(() -> shiftService.updateShift(dto));
 
         Map<String, Object> response = new HashMap<>();
 
@@ -99,4 +245,81 @@ public class ShiftController {
         response.put("message", "근무 수정 완료!");
         return response;
     }
+
+    // ============================
+    // 4️⃣-1 근무 일괄 수정 / 맞바꾸기
+    //  - 전부 적용되거나 하나도 안 됨 (금지 패턴이 생기면 409 + 위반 목록)
+    //  - 없는 칸 수정 / 없는 근무 맞바꾸기 / 잘못된 날짜·타입이면 400
+    // ============================
+    @PatchMapping("/bulk")
+    public ResponseEntity<ShiftBulkResultDto> bulkUpdate(@Valid @RequestBody ShiftBulkEditDto dto) {
+        ShiftBulkResultDto result = badRequestOnInvalid(() -> shiftService.bulkUpdate(dto));
+        return ResponseEntity.status(result.isSuccess() ? HttpStatus.OK : HttpStatus.CONFLICT).body(result);
+    }
+
+    // 서비스의 입력 검사 실패(IllegalArgumentException) → 400
+    private static <T> T badRequestOnInvalid(Supplier<T> edit) {
+        try {
+            return edit.get();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+
+    // ============================
+    // 5️⃣ 근무표 내보내기 (직원 × 날짜 행렬)
+    //  - format: CSV | XLSX (없으면 CSV)
+    //  - DB 에서 한 행씩 읽어 응답 스트림에 바로 씀 (결과 전체를 메모리에 올리지 않음)
+    // ============================
+    @GetMapping("/export/month")
+    public void exportMonth(
+            @RequestParam int year,
+            @RequestParam int month,
+            @RequestParam(defaultValue = "CSV") RosterExportService.Format format,
+            HttpServletResponse response
+    ) throws IOException {
+        YearMonth ym = YearMonth.of(year, month);
+        export(ym.atDay(1), ym.plusMonths(1).atDay(1), format, "roster-" + ym, response);
+    }
+
+    // end 는 포함하지 않음 (예: start=2025-11-01&end=2026-01-01 → 11~12월)
+    @GetMapping("/export/range")
+    public void exportRange(
+            @RequestParam String start,
+            @RequestParam String end,
+            @RequestParam(defaultValue = "CSV") RosterExportService.Format format,
+            HttpServletResponse response
+    ) throws IOException {
+        LocalDate from = parseDate(start), to = parseDate(end);
+        export(from, to, format, "roster-" + from + "_" + to.minusDays(1), response);
+    }
+
+    private void export(LocalDate start, LocalDate end, RosterExportService.Format format, String name,
+                        HttpServletResponse response) throws IOException {
+        // 응답을 쓰기 시작한 뒤에는 상태 코드를 바꿀 수 없으므로 기간은 먼저 검사
+        checkRange(start, end);
+        response.setContentType(format == RosterExportService.Format.CSV
+                ? format.contentType() + ";charset=UTF-8" : format.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + "." + format.extension())
+                .build().toString());
+        rosterExportService.export(start, end, format, response.getOutputStream());
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 날짜입니다: " + e.getParsedString());
+        }
+    }
+
+    // 기간 조회 / 내보내기 공통 — 순서가 뒤집혔거나 366일을 넘으면 400 (ETag 확인 / 응답 쓰기 전에)
+    private static void checkRange(LocalDate start, LocalDate end) {
+        badRequestOnInvalid(() -> {
+            RosterExportService.checkRange(start, end);
+            return null;
+        });
+    }
 }
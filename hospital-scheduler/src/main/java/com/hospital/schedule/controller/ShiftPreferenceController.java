@@ -0,0 +1,36 @@
+package com.hospital.schedule.controller;
+
+import com.hospital.schedule.dtos.ShiftPreferenceDto;
+import com.hospital.schedule.service.ShiftPreferenceService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// 직원 근무 요청(휴무 신청 / 희망·기피 근무) — 월 근무표 생성 / 부분 수정 때 점수에 반영
+@RestController
+@RequestMapping("/api/shift-preferences")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class ShiftPreferenceController {
+
+    private final ShiftPreferenceService shiftPreferenceService;
+
+    @GetMapping
+    public List<ShiftPreferenceDto> getByMonth(@RequestParam int year, @RequestParam int month) {
+        return shiftPreferenceService.getByMonth(year, month);
+    }
+
+    @PostMapping
+    public String addPreference(@Valid @RequestBody ShiftPreferenceDto dto) {
+        shiftPreferenceService.add(dto);
+        return "근무 요청 등록 완료!";
+    }
+
+    @DeleteMapping("/{id}")
+    public String deletePreference(@PathVariable Long id) {
+        shiftPreferenceService.delete(id);
+        return "근무 요청 삭제 완료!";
+    }
+}
@@ -0,0 +1,48 @@
+package com.hospital.schedule.controller;
+
+import com.hospital.schedule.dtos.WorkloadStatsDto;
+import com.hospital.schedule.service.RosterCache;
+import com.hospital.schedule.service.WorkloadStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+// 직원별 근무 통계 (D/E/N/OFF 개수, 가장 긴 연속 근무) — 공정성 대시보드용
+@RestController
+@RequestMapping("/api/stats/workload")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = HttpHeaders.ETAG)
+public class WorkloadStatsController {
+
+    private final WorkloadStatsService workloadStatsService;
+    private final RosterCache rosterCache;
+
+    // 통계는 근무와 같은 트랜잭션에서 바뀌므로 근무 조회와 같은 버전 ETag
+    @GetMapping("/month")
+    public ResponseEntity<List<WorkloadStatsDto>> getByMonth(@RequestParam int year, @RequestParam int month,
+                                                             WebRequest request) {
+        return ConditionalGet.ok(request, rosterCache.monthTag(year, month),
+                () -> workloadStatsService.getByMonth(year, month));
+    }
+
+    // 예: GET /api/stats/workload/year?year=2025&employeeId=3 (employeeId 없으면 전체 직원)
+    //  - longestStreak 는 달별 최댓값 (달을 넘는 연속 근무는 이어 세지 않음)
+    @GetMapping("/year")
+    public ResponseEntity<List<WorkloadStatsDto>> getByYear(@RequestParam int year,
+                                                            @RequestParam(required = false) Long employeeId,
+                                                            WebRequest request) {
+        return ConditionalGet.ok(request, rosterCache.shiftsTag(),
+                () -> workloadStatsService.getByYear(year, employeeId));
+    }
+
+    // 기존 근무 원본에서 한 달 통계를 다시 만듦 (통계 테이블을 처음 만들었을 때 채우기용, 생성 중인 달이면 409)
+    @PostMapping("/rebuild")
+    public String rebuild(@RequestParam int year, @RequestParam int month) {
+        int rows = workloadStatsService.rebuildMonth(year, month);
+        return "근무 통계 재계산 완료! (" + rows + "명)";
+    }
+}
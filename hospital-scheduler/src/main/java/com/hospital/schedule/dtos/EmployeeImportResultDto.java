@@ -0,0 +1,31 @@
+package com.hospital.schedule.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 직원 일괄 등록 결과
+ *  - 잘못된 행이 하나라도 있으면 아무것도 저장하지 않고 errors 만 채워서 돌려줌 (고쳐서 통째로 다시 올리면 됨)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportResultDto {
+
+    private boolean success;
+    private int imported;              // 저장한 직원 수 (실패면 0)
+    private int rows;                  // 읽은 데이터 행 수
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;               // CSV 는 줄 번호(헤더 = 1), JSON 은 배열 안 순번(1부터)
+        private String field;          // 행 전체 문제면 null
+        private String message;
+    }
+}
@@ -0,0 +1,20 @@
+package com.hospital.schedule.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayDto {
+    @NotNull(message = "date 는 필수입니다.")
+    private LocalDate date;
+
+    @NotBlank(message = "공휴일 이름은 필수입니다.")
+    private String name;
+}
@@ -0,0 +1,29 @@
+package com.hospital.schedule.dtos;
+
+import com.hospital.schedule.solver.SolverEngine;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleJobDto {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED, CANCELLED }
+
+    private String jobId;
+    private int year;
+    private int month;
+    private int months;          // 생성할 개월 수 (1 = 한 달, 3 = 분기)
+    private SolverEngine engine; // 탐색 전략
+    private Status status;
+    private int progress;        // 0 ~ 100 (%)
+    private Double bestScore;    // 진행 중이면 현재까지의 best, 끝나면 저장된 근무표 점수
+    private String message;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,42 @@
+package com.hospital.schedule.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 근무 일괄 수정 요청
+ *  - edits : 셀 단위 변경 (직원, 날짜 → 근무 타입)
+ *  - swaps : 같은 날짜 두 직원의 근무 맞바꾸기
+ * edits 를 먼저 적용하고 swaps 를 순서대로 적용한 "최종 결과" 를 한 번에 검사한다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftBulkEditDto {
+
+    @Valid
+    private List<ShiftUpdateDto> edits = new ArrayList<>();
+
+    @Valid
+    private List<Swap> swaps = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Swap {
+        @NotNull(message = "employeeA 는 필수입니다.")
+        private Long employeeA;
+
+        @NotNull(message = "employeeB 는 필수입니다.")
+        private Long employeeB;
+
+        @NotNull(message = "date 는 필수입니다.")
+        private String date;     // "2025-11-05" 형식
+    }
+}
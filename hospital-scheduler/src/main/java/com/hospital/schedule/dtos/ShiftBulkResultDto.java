@@ -0,0 +1,31 @@
+package com.hospital.schedule.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 근무 일괄 수정 결과
+ *  - 금지 패턴이 하나라도 생기면 아무것도 저장하지 않고 violations 만 채워서 돌려줌
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftBulkResultDto {
+
+    private boolean success;
+    private int applied;               // 실제로 바뀐 셀 수
+    private List<Violation> violations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Violation {
+        private Long employeeId;
+        private LocalDate date;        // 금지 패턴이 끝나는 날
+        private String pattern;        // "N→D/E", "N-O-D", "E→D"
+    }
+}
@@ -17,4 +17,7 @@ public class ShiftDto {
     // 추가
     private String employeeName;
     private String shiftTypeName;
+
+    // 수기 입력 여부 (true 면 부분 수정 때 솔버가 건드리지 않음)
+    private boolean manual;
 }
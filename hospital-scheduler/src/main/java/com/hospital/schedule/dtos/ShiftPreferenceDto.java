@@ -0,0 +1,35 @@
+package com.hospital.schedule.dtos;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 직원 근무 요청 — 특정 날짜에 어떤 근무를 원함/원하지 않음
+ *  - 휴무 신청 : shiftTypeId = 4(OFF), avoid = false
+ *  - 나이트 제외: shiftTypeId = 3(N),   avoid = true
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftPreferenceDto {
+    private Long id;
+
+    @NotNull(message = "employeeId 는 필수입니다.")
+    private Long employeeId;
+
+    @NotNull(message = "requestDate 는 필수입니다.")
+    private LocalDate requestDate;
+
+    @NotNull(message = "shiftTypeId 는 필수입니다.")
+    @Min(value = 1, message = "shiftTypeId 는 1~4 여야 합니다.")
+    @Max(value = 4, message = "shiftTypeId 는 1~4 여야 합니다.")
+    private Long shiftTypeId;  // 1=D, 2=E, 3=N, 4=O
+
+    private boolean avoid;     // true 면 "이 근무는 빼 주세요"
+}
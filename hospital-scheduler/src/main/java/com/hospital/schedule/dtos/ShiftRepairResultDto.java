@@ -0,0 +1,18 @@
+package com.hospital.schedule.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 근무표 부분 수정(repair) 결과
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftRepairResultDto {
+    private int affectedDays;   // 솔버가 손댈 수 있었던 날짜 수
+    private int changed;        // 실제로 바뀐(저장된) 셀 수
+    private double score;       // 수정 후 근무표 점수 (낮을수록 좋음)
+    private long elapsedMs;
+}
@@ -8,4 +8,5 @@ public class ShiftRequestDto {
     private Long employeeId;
     private Long shiftTypeId;
     private LocalDate workDate;
+    private boolean manual;     // 수기 입력 여부 (솔버 결과는 false)
 }
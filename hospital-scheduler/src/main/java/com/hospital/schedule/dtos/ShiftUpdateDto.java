@@ -1,10 +1,20 @@
 package com.hospital.schedule.dtos;
 
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ShiftUpdateDto {
+    @NotNull(message = "employeeId 는 필수입니다.")
     private Long employeeId;
+
+    @NotNull(message = "date 는 필수입니다.")
     private String date;       // "2025-11-05" 형식
+
+    @NotNull(message = "shiftTypeId 는 필수입니다.")
     private Long shiftTypeId;  // 1=D, 2=E, 3=N, 4=O
 }
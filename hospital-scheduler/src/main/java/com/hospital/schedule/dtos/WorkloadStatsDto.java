@@ -0,0 +1,27 @@
+package com.hospital.schedule.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// 직원 × 월 근무 통계 (employee_monthly_stats 한 행, 연간 조회는 직원별 합계)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkloadStatsDto {
+    private Long employeeId;
+    private String employeeName;
+
+    // 월 1일 (연간 합계면 null)
+    private LocalDate month;
+
+    private int dayCount;
+    private int eveningCount;
+    private int nightCount;
+    private int offCount;
+
+    // 그 달 안에서 가장 긴 연속 근무 일수 (D/E/N, 연간 합계면 달별 최댓값)
+    private int longestStreak;
+}
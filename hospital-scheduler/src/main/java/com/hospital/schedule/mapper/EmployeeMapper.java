@@ -3,13 +3,19 @@ package com.hospital.schedule.mapper;
 import com.hospital.schedule.dtos.EmployeeDto;
 import com.hospital.schedule.dtos.EmployeeRequestDto;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import java.util.List;
 
 @Mapper
 public interface EmployeeMapper {
-    List<EmployeeDto> findAll();
+
+    // 키셋 페이지 — id DESC 순서로 beforeId 보다 작은 행부터 limit 건 (null 이면 처음부터)
+    List<EmployeeDto> findPage(@Param("beforeId") Long beforeId, @Param("limit") int limit);
     EmployeeDto findById(Long id);
     void insert(EmployeeRequestDto dto);
+
+    // 다건 등록 (multi-row VALUES, 호출 측에서 청크 단위로 나눠 호출)
+    void insertBatch(@Param("rows") List<EmployeeRequestDto> rows);
     void update(EmployeeDto dto);
     void delete(Long id);
     
@@ -0,0 +1,19 @@
+package com.hospital.schedule.mapper;
+
+import com.hospital.schedule.dtos.HolidayDto;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Mapper
+public interface HolidayMapper {
+
+    // ✅ 기간 조회 — 반열림 구간 [start, end)
+    List<HolidayDto> findByRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    void insert(HolidayDto dto);
+
+    void delete(@Param("date") LocalDate date);
+}
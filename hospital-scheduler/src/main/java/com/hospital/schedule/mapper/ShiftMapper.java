@@ -4,32 +4,51 @@ import com.hospital.schedule.dtos.ShiftDto;
 import com.hospital.schedule.dtos.ShiftRequestDto;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
 public interface ShiftMapper {
 
-    List<ShiftDto> findAll();
+    ShiftDto findById(@Param("id") Long id);
 
-    List<ShiftDto> findByEmployee(@Param("employeeId") Long employeeId);
+    // ✅ 키셋 페이지 — (work_date, employee_id) 가 커서보다 큰 행부터 limit 건 (커서가 null 이면 처음부터)
+    List<ShiftDto> findPage(@Param("afterDate") LocalDate afterDate,
+                            @Param("afterEmployeeId") Long afterEmployeeId,
+                            @Param("limit") int limit);
+
+    // ✅ 직원별 키셋 페이지 — work_date 가 커서보다 큰 행부터 limit 건
+    List<ShiftDto> findByEmployeePage(@Param("employeeId") Long employeeId,
+                                      @Param("afterDate") LocalDate afterDate,
+                                      @Param("limit") int limit);
+
+    // ✅ 기간 조회/집계 — 반열림 구간 [start, end) (work_date 인덱스 사용)
+    List<ShiftDto> findByRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    int countByRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // ✅ 내보내기용 스트리밍 조회 — [start, end) 를 (employee_id, work_date) 순으로 한 행씩 (트랜잭션 안에서만 사용)
+    Cursor<ShiftDto> streamByRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
 
     void insert(ShiftRequestDto dto);
 
+    // ✅ 다건 등록 (multi-row VALUES, 호출 측에서 청크 단위로 나눠 호출)
+    void insertBatch(@Param("rows") List<ShiftRequestDto> rows);
+
     void delete(@Param("id") Long id);
 
     void deleteByRangeAndType(@Param("start") String start,
                               @Param("end") String end,
                               @Param("shiftTypeId") Long shiftTypeId);
 
-    // ✅ Simulated Annealing 스케줄러용
-    void deleteByMonth(@Param("year") int year, @Param("month") int month);
+    // ✅ Simulated Annealing 스케줄러용 — 반열림 구간 [start, end) 삭제 (월 교체 시 1일 ~ 다음 달 1일)
+    void deleteByRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
     
-    Long findShift(@Param("employeeId") Long employeeId,
-            @Param("date") LocalDate date);
-
-    void updateShift(@Param("employeeId") Long employeeId,
-              @Param("date") LocalDate date,
-              @Param("shiftTypeId") Long shiftTypeId);
+    // ✅ 일괄 수정용 — 여러 직원의 [start, end) 근무를 한 번에 (±2일 창 미리 읽기)
+    List<ShiftDto> findWindows(@Param("employeeIds") Collection<Long> employeeIds,
+                               @Param("start") LocalDate start,
+                               @Param("end") LocalDate end);
 }
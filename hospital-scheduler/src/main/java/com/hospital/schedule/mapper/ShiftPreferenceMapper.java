@@ -0,0 +1,19 @@
+package com.hospital.schedule.mapper;
+
+import com.hospital.schedule.dtos.ShiftPreferenceDto;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Mapper
+public interface ShiftPreferenceMapper {
+
+    // ✅ 기간 조회 — 반열림 구간 [start, end), 솔브 한 번에 한 번
+    List<ShiftPreferenceDto> findByRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    void insert(ShiftPreferenceDto dto);
+
+    void delete(@Param("id") Long id);
+}
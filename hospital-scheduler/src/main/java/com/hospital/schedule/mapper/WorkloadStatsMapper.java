@@ -0,0 +1,29 @@
+package com.hospital.schedule.mapper;
+
+import com.hospital.schedule.dtos.WorkloadStatsDto;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface WorkloadStatsMapper {
+
+    // ✅ 한 달 통계 — 직원 수만큼의 행 (month = 월 1일)
+    List<WorkloadStatsDto> findByMonth(@Param("month") LocalDate month);
+
+    // ✅ 기간 합계 — 반열림 구간 [start, end) 의 월 행을 직원별로 합침 (employeeId 가 null 이면 전체 직원)
+    List<WorkloadStatsDto> sumByRange(@Param("start") LocalDate start,
+                                      @Param("end") LocalDate end,
+                                      @Param("employeeId") Long employeeId);
+
+    // ✅ 다건 등록 (multi-row VALUES, 같은 직원 × 월이면 덮어씀)
+    void upsertBatch(@Param("rows") List<WorkloadStatsDto> rows);
+
+    void deleteByMonth(@Param("month") LocalDate month);
+
+    void deleteByEmployees(@Param("month") LocalDate month,
+                           @Param("employeeIds") Collection<Long> employeeIds);
+}
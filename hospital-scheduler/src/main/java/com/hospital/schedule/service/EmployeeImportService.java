@@ -0,0 +1,265 @@
+package com.hospital.schedule.service;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.hospital.schedule.dtos.EmployeeImportResultDto;
+import com.hospital.schedule.dtos.EmployeeRequestDto;
+import com.hospital.schedule.mapper.EmployeeMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 직원 일괄 등록 (CSV / JSON 배열 스트림)
+ *
+ * 요청 본문을 통째로 읽지 않고 한 행씩 파싱 → Bean Validation(EmployeeRequestDto 의 제약) 검사 →
+ * BATCH_SIZE 행마다 multi-row INSERT. 전체가 한 트랜잭션이라
+ *  - 잘못된 행이 나오면 그 뒤로는 INSERT 없이 검사만 계속해서 오류를 모두 모으고, 끝에서 롤백
+ *  - 모두 통과해야 커밋 (직원 목록 캐시는 한 번만 비움)
+ *
+ * CSV : 첫 줄은 헤더 (name, role, nightShiftAvailable, maxWeeklyHours — 순서 무관, 뒤의 둘은 생략 가능)
+ *       따옴표로 감싼 칸 안의 쉼표 / "" 는 지원, 칸 안의 줄바꿈은 지원하지 않음
+ * JSON: EmployeeRequestDto 객체의 배열
+ *       원소 하나의 타입 오류는 그 원소만 오류로 남기고 계속 읽고, JSON 문법 오류는 그 자리에서 더 읽을 수 없으므로
+ *       그 원소 번호 + 줄/칸으로 오류를 남기고 멈춤 (둘 다 400 + 오류 목록, 롤백)
+ */
+@Service
+@RequiredArgsConstructor
+public class EmployeeImportService {
+
+    // 다건 INSERT 한 번에 넣을 행 수
+    private static final int BATCH_SIZE = 500;
+
+    // 응답에 담을 최대 오류 수 (그 뒤로는 개수만 셈)
+    private static final int MAX_ERRORS = 1_000;
+
+    private static final List<String> COLUMNS = List.of("name", "role", "nightShiftAvailable", "maxWeeklyHours");
+
+    private final EmployeeMapper employeeMapper;
+    private final RosterCache rosterCache;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public EmployeeImportResultDto importCsv(InputStream in) throws IOException {
+        Batch batch = new Batch();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new IllegalArgumentException("CSV 가 비어 있습니다.");
+            }
+            Map<String, Integer> header = header(splitCsv(stripBom(headerLine)));
+
+            String line;
+            int lineNo = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                batch.add(lineNo, fromCsv(lineNo, splitCsv(line), header, batch));
+            }
+        }
+        return batch.finish();
+    }
+
+    @Transactional
+    public EmployeeImportResultDto importJson(InputStream in) throws IOException {
+        Batch batch = new Batch();
+        int index = 0; // 끝까지 읽은 원소 수 — 문법 오류는 index + 1 번째 원소에서 난 것
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON 본문은 직원 객체의 배열이어야 합니다.");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalArgumentException("JSON 배열이 닫히지 않았습니다.");
+                }
+                int row = index + 1;
+                // 한 원소씩 트리로 읽은 뒤 변환 — 타입이 틀린 원소가 있어도 다음 원소부터 계속 읽을 수 있음
+                JsonNode node = parser.readValueAsTree();
+                EmployeeRequestDto dto = null;
+                try {
+                    dto = objectMapper.treeToValue(node, EmployeeRequestDto.class);
+                } catch (InvalidFormatException e) {
+                    String field = e.getPath().isEmpty() ? null : e.getPath().get(0).getFieldName();
+                    batch.error(row, field, "형식이 잘못되었습니다: " + e.getValue());
+                } catch (JsonProcessingException e) {
+                    batch.error(row, null, e.getOriginalMessage());
+                }
+                batch.add(row, dto);
+                index = row;
+            }
+        } catch (JsonProcessingException e) {
+            // 문법 오류 (닫히지 않은 객체, 잘못된 토큰 등) — 파서를 더 진행할 수 없음
+            JsonLocation at = e.getLocation();
+            String where = at == null ? "" : " (" + at.getLineNr() + "줄 " + at.getColumnNr() + "칸)";
+            batch.error(index + 1, null, "JSON 형식 오류" + where + ": " + e.getOriginalMessage());
+        }
+        return batch.finish();
+    }
+
+    // ------------------------------------
+    // 🔹 검사 + 청크 INSERT
+    // ------------------------------------
+    private final class Batch {
+        private final List<EmployeeRequestDto> chunk = new ArrayList<>(BATCH_SIZE);
+        private final List<EmployeeImportResultDto.RowError> errors = new ArrayList<>();
+        private int errorCount;
+        private int rows;
+        private int imported;
+
+        // dto 가 null 이면 파싱 단계에서 이미 오류를 남긴 행
+        void add(int row, EmployeeRequestDto dto) {
+            rows++;
+            if (dto == null) return;
+
+            boolean valid = true;
+            for (ConstraintViolation<EmployeeRequestDto> v : validator.validate(dto)) {
+                error(row, v.getPropertyPath().toString(), v.getMessage());
+                valid = false;
+            }
+            if (!valid || errorCount > 0) return; // 오류가 생긴 뒤로는 검사만
+
+            chunk.add(dto);
+            if (chunk.size() == BATCH_SIZE) flush();
+        }
+
+        void error(int row, String field, String message) {
+            errorCount++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new EmployeeImportResultDto.RowError(row, field, message));
+            }
+        }
+
+        EmployeeImportResultDto finish() {
+            if (errorCount > 0) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                return new EmployeeImportResultDto(false, 0, rows, errors);
+            }
+            flush();
+            if (imported > 0) rosterCache.evictEmployeeList();
+            return new EmployeeImportResultDto(true, imported, rows, List.of());
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) return;
+            employeeMapper.insertBatch(chunk);
+            imported += chunk.size();
+            chunk.clear();
+        }
+    }
+
+    // ------------------------------------
+    // 🔹 CSV
+    // ------------------------------------
+    private static Map<String, Integer> header(List<String> cells) {
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < cells.size(); i++) {
+            String name = cells.get(i).trim();
+            for (String column : COLUMNS) {
+                if (column.equalsIgnoreCase(name) || column.equalsIgnoreCase(name.replace("_", ""))) {
+                    header.put(column, i);
+                }
+            }
+        }
+        if (!header.containsKey("name") || !header.containsKey("role")) {
+            throw new IllegalArgumentException("CSV 헤더에 name, role 열이 있어야 합니다.");
+        }
+        return header;
+    }
+
+    // 형식 오류는 batch 에 남기고 null
+    private static EmployeeRequestDto fromCsv(int row, List<String> cells, Map<String, Integer> header,
+                                             Batch batch) {
+        EmployeeRequestDto dto = new EmployeeRequestDto();
+        dto.setName(cell(cells, header, "name"));
+        dto.setRole(cell(cells, header, "role"));
+
+        boolean ok = true;
+        String night = cell(cells, header, "nightShiftAvailable");
+        if (night != null && !night.isBlank()) {
+            Boolean value = parseBoolean(night);
+            if (value == null) {
+                batch.error(row, "nightShiftAvailable", "true/false 여야 합니다: " + night);
+                ok = false;
+            } else {
+                dto.setNightShiftAvailable(value);
+            }
+        }
+        String hours = cell(cells, header, "maxWeeklyHours");
+        if (hours != null && !hours.isBlank()) {
+            try {
+                dto.setMaxWeeklyHours(Integer.parseInt(hours.trim()));
+            } catch (NumberFormatException e) {
+                batch.error(row, "maxWeeklyHours", "숫자여야 합니다: " + hours);
+                ok = false;
+            }
+        }
+        return ok ? dto : null;
+    }
+
+    private static String cell(List<String> cells, Map<String, Integer> header, String column) {
+        Integer i = header.get(column);
+        return (i == null || i >= cells.size()) ? null : cells.get(i).trim();
+    }
+
+    private static Boolean parseBoolean(String value) {
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "1", "y", "yes" -> Boolean.TRUE;
+            case "false", "0", "n", "no" -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+
+    // 한 줄을 칸으로 (따옴표 안의 쉼표, "" → ")
+    private static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+}
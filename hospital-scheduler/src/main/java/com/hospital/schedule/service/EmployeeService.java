@@ -2,10 +2,13 @@ package com.hospital.schedule.service;
 
 import com.hospital.schedule.dtos.EmployeeDto;
 import com.hospital.schedule.dtos.EmployeeRequestDto;
+import com.hospital.schedule.dtos.PageDto;
 import com.hospital.schedule.mapper.EmployeeMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -13,24 +16,42 @@ import java.util.List;
 public class EmployeeService {
 
     private final EmployeeMapper employeeMapper;
-
-    public List<EmployeeDto> getAll() {
-        return employeeMapper.findAll();
+    private final RosterCache rosterCache;
+
+    /**
+     * 직원 키셋 페이지 — id 내림차순, size + 1 건을 읽어서 다음 페이지 판단
+     */
+    @Cacheable(cacheNames = RosterCache.EMPLOYEES, key = "#cursor + ':' + #size")
+    public PageDto<EmployeeDto> getPage(String cursor, Integer size) {
+        int limit = PageDto.clampSize(size);
+        Long beforeId = (cursor == null || cursor.isBlank())
+                ? null : PageDto.parseCursorId(PageDto.decodeCursor(cursor));
+
+        List<EmployeeDto> rows = employeeMapper.findPage(beforeId, limit + 1);
+        if (rows.size() <= limit) {
+            return new PageDto<>(rows, null);
+        }
+        List<EmployeeDto> items = new ArrayList<>(rows.subList(0, limit));
+        return new PageDto<>(items, PageDto.encodeCursor(String.valueOf(items.get(limit - 1).getId())));
     }
 
+    @Cacheable(cacheNames = RosterCache.EMPLOYEE, key = "#id", unless = "#result == null")
     public EmployeeDto getById(Long id) {
         return employeeMapper.findById(id);
     }
 
     public void add(EmployeeRequestDto dto) {
         employeeMapper.insert(dto);
+        rosterCache.evictEmployeeList();
     }
 
     public void update(EmployeeDto dto) {
         employeeMapper.update(dto);
+        rosterCache.evictEmployee(dto.getId());
     }
 
     public void delete(Long id) {
         employeeMapper.delete(id);
+        rosterCache.evictEmployee(id);
     }
 }
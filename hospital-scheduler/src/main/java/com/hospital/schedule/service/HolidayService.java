@@ -0,0 +1,54 @@
+package com.hospital.schedule.service;
+
+import com.hospital.schedule.dtos.HolidayDto;
+import com.hospital.schedule.mapper.HolidayMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 공휴일 달력
+ *  - 조회는 캐시 (공휴일은 거의 안 바뀌므로 쓰기 때 캐시 전체를 비움)
+ */
+@Service
+@RequiredArgsConstructor
+public class HolidayService {
+
+    public static final String HOLIDAYS = "holidays";
+
+    private final HolidayMapper holidayMapper;
+
+    @Cacheable(cacheNames = HOLIDAYS, key = "'y:' + #year")
+    public List<HolidayDto> getByYear(int year) {
+        return holidayMapper.findByRange(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1));
+    }
+
+    /**
+     * 솔버 입력용 — from 부터 months 개월의 공휴일 날짜 (한 쿼리)
+     */
+    @Cacheable(cacheNames = HOLIDAYS, key = "'r:' + #from + ':' + #months")
+    public Set<LocalDate> getDates(YearMonth from, int months) {
+        Set<LocalDate> dates = new HashSet<>();
+        for (HolidayDto h : holidayMapper.findByRange(from.atDay(1), from.plusMonths(months).atDay(1))) {
+            dates.add(h.getDate());
+        }
+        return dates;
+    }
+
+    @CacheEvict(cacheNames = HOLIDAYS, allEntries = true)
+    public void add(HolidayDto dto) {
+        holidayMapper.insert(dto);
+    }
+
+    @CacheEvict(cacheNames = HOLIDAYS, allEntries = true)
+    public void delete(LocalDate date) {
+        holidayMapper.delete(date);
+    }
+}
@@ -0,0 +1,17 @@
+package com.hospital.schedule.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.YearMonth;
+
+/**
+ * 근무표를 생성 중인 달(또는 다른 쓰기가 오래 잡고 있는 달)에 쓰려고 할 때 — 409 로 응답
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class MonthBusyException extends RuntimeException {
+
+    public MonthBusyException(YearMonth ym) {
+        super(ym + " 근무표를 생성 중입니다. 잠시 후 다시 시도하세요.");
+    }
+}
@@ -0,0 +1,168 @@
+package com.hospital.schedule.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 월 단위 잠금 — 같은 달을 동시에 생성하거나, 생성 중인 달을 고치지 못하게
+ *
+ * (연, 월) 마다 ReentrantLock 하나 (처음 쓸 때 만들고 계속 둠 — 한 해에 12개라 쌓여도 작음).
+ * 여러 달을 잡을 때는 항상 날짜 순서로 잡으므로 교착 상태가 생기지 않는다.
+ *  - 생성 (generate)             : 앞 작업이 끝날 때까지 기다렸다가(취소 가능) 솔브 + 저장 내내 잡고 있음
+ *  - 부분 수정 (tryGenerate)      : 같지만 editWaitMs 까지만 기다리고 못 잡으면 MonthBusyException
+ *  - 근무 쓰기 (lockForEdit)     : 생성 중인 달이면 바로 MonthBusyException,
+ *                                  아니면 editWaitMs 까지만 기다리고 트랜잭션이 끝날 때(커밋/롤백 후) 풂
+ * 잠금은 스레드 기준이라 생성 스레드가 저장하면서 다시 잡는 것(replaceMonth)은 그대로 통과한다.
+ */
+@Component
+public class MonthLocks {
+
+    private static final long EDIT_WAIT_MS = 3_000;
+    private static final long POLL_MS      = 250;   // 생성 대기 중 취소 확인 간격
+
+    private final ConcurrentHashMap<YearMonth, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final Set<YearMonth> generating = ConcurrentHashMap.newKeySet();
+    private final long editWaitMs;
+
+    public MonthLocks() {
+        this(EDIT_WAIT_MS);
+    }
+
+    // 테스트용 — 근무 쓰기 대기 시간
+    MonthLocks(long editWaitMs) {
+        this.editWaitMs = editWaitMs;
+    }
+
+    /**
+     * months 를 모두 잡고 work 실행 (생성 / 부분 수정용)
+     *  - 다른 생성이 같은 달을 잡고 있으면 끝날 때까지 기다림 (cancelled 가 true 가 되면 CancellationException)
+     */
+    public <T> T generate(Collection<YearMonth> months, BooleanSupplier cancelled, Supplier<T> work) {
+        return holding(months, (ym, lock) -> {
+            while (!lock.tryLock(POLL_MS, TimeUnit.MILLISECONDS)) {
+                if (cancelled.getAsBoolean()) throw new CancellationException("작업이 취소되었습니다.");
+            }
+        }, work);
+    }
+
+    /**
+     * generate 와 같지만 editWaitMs 까지만 기다림 (요청 스레드에서 바로 도는 부분 수정용)
+     *
+     * @throws MonthBusyException 그 안에 잠금을 못 얻은 경우 (막힌 달을 담아서)
+     */
+    public <T> T tryGenerate(Collection<YearMonth> months, Supplier<T> work) {
+        return holding(months, (ym, lock) -> {
+            if (!lock.tryLock(editWaitMs, TimeUnit.MILLISECONDS)) throw new MonthBusyException(ym);
+        }, work);
+    }
+
+    // 날짜 순서로 하나씩 acquire 로 잡고, 모두 잡으면 생성 중 표시 후 work 실행
+    private <T> T holding(Collection<YearMonth> months, Acquire acquire, Supplier<T> work) {
+        List<ReentrantLock> held = new ArrayList<>(months.size());
+        try {
+            for (YearMonth ym : new TreeSet<>(months)) {
+                ReentrantLock lock = lockOf(ym);
+                acquire.lock(ym, lock);
+                held.add(lock);
+            }
+        } catch (InterruptedException e) {
+            unlock(held);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("작업이 중단되었습니다.");
+        } catch (RuntimeException e) {
+            unlock(held);
+            throw e;
+        }
+
+        Set<YearMonth> marked = new TreeSet<>();
+        for (YearMonth ym : months) {
+            if (generating.add(ym)) marked.add(ym);
+        }
+        try {
+            return work.get();
+        } finally {
+            generating.removeAll(marked);
+            unlock(held);
+        }
+    }
+
+    // 잠금 하나 얻기 — 성공하면 그냥 돌아오고, 실패는 예외로
+    private interface Acquire {
+        void lock(YearMonth ym, ReentrantLock lock) throws InterruptedException;
+    }
+
+    /**
+     * 근무 쓰기 전에 호출 — 트랜잭션 안이면 끝날 때까지 잡고 있다가 풂
+     *
+     * @throws MonthBusyException 그 달을 생성 중이거나 editWaitMs 안에 잠금을 못 얻은 경우 (막힌 달을 담아서)
+     */
+    public void lockForEdit(Collection<YearMonth> months) {
+        Set<YearMonth> order = new TreeSet<>(months);
+        for (YearMonth ym : order) {
+            // 생성 스레드 자신의 저장은 통과 (아래 tryLock 도 재진입으로 바로 성공)
+            if (generating.contains(ym) && !lockOf(ym).isHeldByCurrentThread()) {
+                throw new MonthBusyException(ym);
+            }
+        }
+
+        List<ReentrantLock> held = new ArrayList<>(order.size());
+        YearMonth waiting = null;
+        try {
+            for (YearMonth ym : order) {
+                waiting = ym;
+                ReentrantLock lock = lockOf(ym);
+                if (!lock.tryLock(editWaitMs, TimeUnit.MILLISECONDS)) {
+                    throw new MonthBusyException(ym);
+                }
+                held.add(lock);
+            }
+        } catch (InterruptedException e) {
+            unlock(held);
+            Thread.currentThread().interrupt();
+            throw new MonthBusyException(waiting);
+        } catch (RuntimeException e) {
+            unlock(held);
+            throw e;
+        }
+        holdUntilCompletion(held);
+    }
+
+    // 트랜잭션이 없으면 검사만 하고 바로 풂
+    private void holdUntilCompletion(List<ReentrantLock> held) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            unlock(held);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(held);
+            }
+        });
+    }
+
+    // 잡은 반대 순서로 풂
+    private static void unlock(List<ReentrantLock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+    }
+
+    private ReentrantLock lockOf(YearMonth ym) {
+        return locks.computeIfAbsent(ym, k -> new ReentrantLock());
+    }
+}
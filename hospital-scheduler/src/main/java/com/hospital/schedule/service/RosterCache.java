@@ -0,0 +1,176 @@
+package com.hospital.schedule.service;
+
+import com.hospital.schedule.dtos.ShiftRequestDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 근무표/직원 조회 캐시 무효화 + 조회 버전(ETag)
+ *
+ * 조회는 서비스의 @Cacheable 로 채우고, 무효화는 쓰기 경로에서 여기로 모은다.
+ *  - shiftsByMonth    : key = 연*100+월            → 해당 월이 바뀔 때만 제거
+ *  - shiftsByEmployee : key = "직원id:cursor:size" → 해당 직원의 페이지만 제거
+ *  - shiftPages       : 전체 근무 키셋 페이지      → 근무가 바뀌면 모두 제거
+ *  - employees        : 직원 목록 페이지           → 직원이 바뀌면 모두 제거
+ *  - employee         : key = 직원 id
+ *
+ * 트랜잭션 안에서 호출되면 지금 한 번, 커밋 후 한 번 더 지운다
+ * (커밋 전에 다른 요청이 옛 데이터로 캐시를 다시 채우는 경우 방지).
+ *
+ * 🏷️ 캐시를 지울 때마다 버전 카운터도 같이 올리고, 조회 API 는 이 버전으로 ETag 를 만든다
+ * (If-None-Match 가 맞으면 쿼리 / 직렬화 없이 304). 커밋 후에도 한 번 더 올리므로
+ * 커밋 전에 옛 데이터와 함께 나간 ETag 는 커밋 뒤 다시 쓰이지 않는다.
+ *  - 월 버전       : 그 달 근무가 바뀔 때
+ *  - 근무 버전     : 근무가 하나라도 바뀔 때 (페이지 / 직원별 / 기간 조회용)
+ *  - 직원 버전     : 직원이 추가·수정·삭제될 때 (근무 조회 결과에도 직원 이름이 들어감)
+ *  - 재시작하면 카운터가 0 부터 다시 시작하므로 ETag 에 기동 시각(epoch)을 넣는다
+ */
+@Component
+@RequiredArgsConstructor
+public class RosterCache {
+
+    public static final String SHIFTS_BY_MONTH    = "shiftsByMonth";
+    public static final String SHIFTS_BY_EMPLOYEE = "shiftsByEmployee";
+    public static final String SHIFT_PAGES        = "shiftPages";
+    public static final String EMPLOYEES          = "employees";
+    public static final String EMPLOYEE           = "employee";
+
+    private final CacheManager cacheManager;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Integer, AtomicLong> monthVersions = new ConcurrentHashMap<>();
+    private final AtomicLong shiftsVersion    = new AtomicLong();
+    private final AtomicLong employeesVersion = new AtomicLong();
+
+    public static int monthKey(int year, int month) {
+        return year * 100 + month;
+    }
+
+    // ------------------------------------
+    // 🏷️ ETag 버전 문자열 (W/"..." 는 ConditionalGet 이 붙임)
+    // ------------------------------------
+    public String monthTag(int year, int month) {
+        int key = monthKey(year, month);
+        return epoch + "-m" + key + "." + monthVersion(key).get() + "." + employeesVersion.get();
+    }
+
+    public String shiftsTag() {
+        return epoch + "-s" + shiftsVersion.get() + "." + employeesVersion.get();
+    }
+
+    public String employeesTag() {
+        return epoch + "-e" + employeesVersion.get();
+    }
+
+    private AtomicLong monthVersion(int key) {
+        return monthVersions.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    public void evictShift(Long employeeId, LocalDate date) {
+        evictNowAndAfterCommit(() -> {
+            evictMonthNow(YearMonth.from(date));
+            evictEmployeeShiftsNow(employeeId);
+            clear(SHIFT_PAGES);
+        });
+    }
+
+    public void evictShifts(Collection<ShiftRequestDto> rows) {
+        Set<YearMonth> months = new HashSet<>();
+        Set<Long> employeeIds = new HashSet<>();
+        for (ShiftRequestDto row : rows) {
+            months.add(YearMonth.from(row.getWorkDate()));
+            employeeIds.add(row.getEmployeeId());
+        }
+        evictNowAndAfterCommit(() -> {
+            months.forEach(this::evictMonthNow);
+            employeeIds.forEach(this::evictEmployeeShiftsNow);
+            clear(SHIFT_PAGES);
+        });
+    }
+
+    /**
+     * 월 전체 교체 — 그 달에 근무가 있던 직원을 모르므로 직원별 근무 캐시는 통째로 비움
+     */
+    public void evictMonth(YearMonth ym) {
+        evictNowAndAfterCommit(() -> {
+            evictMonthNow(ym);
+            clear(SHIFTS_BY_EMPLOYEE);
+            clear(SHIFT_PAGES);
+        });
+    }
+
+    /**
+     * 직원 정보 변경 — 근무 조회 결과에 직원 이름이 들어가므로 근무 캐시도 함께 비움
+     */
+    public void evictEmployee(Long id) {
+        evictNowAndAfterCommit(() -> {
+            Cache byId = cacheManager.getCache(EMPLOYEE);
+            if (byId != null && id != null) byId.evict(id);
+            employeesVersion.incrementAndGet();
+            shiftsVersion.incrementAndGet();
+            clear(EMPLOYEES);
+            clear(SHIFTS_BY_MONTH);
+            clear(SHIFTS_BY_EMPLOYEE);
+            clear(SHIFT_PAGES);
+        });
+    }
+
+    public void evictEmployeeList() {
+        evictNowAndAfterCommit(() -> {
+            employeesVersion.incrementAndGet();
+            clear(EMPLOYEES);
+        });
+    }
+
+    // 월 캐시 제거 + 월 / 근무 버전 올림 (근무 쓰기 경로는 모두 여기를 거침)
+    private void evictMonthNow(YearMonth ym) {
+        int key = monthKey(ym.getYear(), ym.getMonthValue());
+        monthVersion(key).incrementAndGet();
+        shiftsVersion.incrementAndGet();
+        Cache cache = cacheManager.getCache(SHIFTS_BY_MONTH);
+        if (cache != null) cache.evict(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evictEmployeeShiftsNow(Long employeeId) {
+        Cache cache = cacheManager.getCache(SHIFTS_BY_EMPLOYEE);
+        if (cache == null) return;
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            String prefix = employeeId + ":";
+            ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache).asMap().keySet()
+                    .removeIf(k -> k.toString().startsWith(prefix));
+        } else {
+            cache.clear();
+        }
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) cache.clear();
+    }
+
+    private void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.hospital.schedule.service;
+
+import com.hospital.schedule.dtos.ShiftDto;
+import com.hospital.schedule.mapper.ShiftMapper;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * 근무표 내보내기 (직원 × 날짜 행렬, CSV / XLSX)
+ *
+ * MyBatis Cursor 로 (직원, 날짜) 순서의 근무를 한 행씩 읽으면서 바로 행렬로 바꿔 쓴다.
+ *  - 직원이 바뀌는 순간 그 직원 행을 출력 → 메모리에는 직원 한 명의 행(날짜 수만큼의 칸)만 있음
+ *  - 결과 전체를 List 로 올리지 않으므로 직원 수 / 기간이 늘어도 메모리가 일정
+ *  - Cursor 는 열린 세션이 있어야 하므로 읽기 전용 트랜잭션 안에서 끝까지 씀
+ *  - 읽다가 실패하면 작성기를 마무리하지 않고 예외를 그대로 던짐 → 응답이 중간에 끊겨
+ *    클라이언트가 잘린 파일을 정상 파일로 받지 않음 (ZIP 목차 / 청크 끝이 없음)
+ */
+@Service
+@RequiredArgsConstructor
+public class RosterExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    // 한 번에 내보낼 수 있는 최대 일수 (열 개수)
+    public static final int MAX_DAYS = 366;
+
+    private static final DateTimeFormatter HEADER_DATE = DateTimeFormatter.ofPattern("MM/dd");
+
+    private final ShiftMapper shiftMapper;
+
+    /**
+     * 기간 검사 — 응답을 쓰기 시작하기 전에 호출 (잘못된 요청은 400 으로)
+     */
+    public static void checkRange(LocalDate start, LocalDate end) {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("end 는 start 이후여야 합니다.");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > MAX_DAYS) {
+            throw new IllegalArgumentException("기간은 한 번에 " + MAX_DAYS + "일까지입니다.");
+        }
+    }
+
+    /**
+     * [start, end) 근무표를 format 으로 out 에 씀 (out 은 닫지 않음)
+     */
+    @Transactional(readOnly = true)
+    public void export(LocalDate start, LocalDate end, Format format, OutputStream out) throws IOException {
+        checkRange(start, end);
+        int days = (int) ChronoUnit.DAYS.between(start, end);
+
+        RosterSheetWriter writer = format == Format.XLSX
+                ? new RosterSheetWriter.Xlsx(out, start + " ~ " + end.minusDays(1))
+                : new RosterSheetWriter.Csv(out);
+        try (Cursor<ShiftDto> cursor = shiftMapper.streamByRange(start, end)) {
+            writer.row(header(start, days));
+
+            Long currentEmp = null;
+            String[] row = null;
+            for (ShiftDto shift : cursor) {
+                if (!Objects.equals(shift.getEmployeeId(), currentEmp)) {
+                    if (row != null) writer.row(Arrays.asList(row));
+                    currentEmp = shift.getEmployeeId();
+                    row = new String[days + 2];
+                    row[0] = String.valueOf(currentEmp);
+                    row[1] = shift.getEmployeeName();
+                }
+                row[2 + (int) ChronoUnit.DAYS.between(start, shift.getWorkDate())] = shift.getShiftTypeName();
+            }
+            if (row != null) writer.row(Arrays.asList(row));
+        }
+        // 여기까지 왔을 때만 마무리 (예외면 위에서 이미 빠져나감)
+        writer.finish();
+    }
+
+    // 직원ID, 이름, 날짜별 "MM/dd(요일)"
+    private static List<String> header(LocalDate start, int days) {
+        List<String> header = new ArrayList<>(days + 2);
+        header.add("직원ID");
+        header.add("이름");
+        for (int i = 0; i < days; i++) {
+            LocalDate date = start.plusDays(i);
+            header.add(date.format(HEADER_DATE)
+                    + "(" + date.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.KOREAN) + ")");
+        }
+        return header;
+    }
+}
@@ -0,0 +1,155 @@
+package com.hospital.schedule.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 근무표 행렬(직원 × 날짜)을 한 행씩 출력 스트림에 쓰는 작성기
+ *
+ * 행을 모아 두지 않고 받는 즉시 쓰므로 메모리는 한 행 크기로 일정하다.
+ *  - Csv  : UTF-8 BOM (엑셀에서 한글 이름이 깨지지 않게) + RFC 4180 따옴표 처리
+ *  - Xlsx : 시트 하나짜리 최소 SpreadsheetML 을 ZIP 으로 바로 씀 (문자열은 inlineStr — 공유 문자열 표를 만들지 않음)
+ * finish() 는 마무리만 하고 바깥 스트림(응답)은 닫지 않는다.
+ * 중간에 실패하면 finish() 를 부르지 않는다 — 끝까지 쓴 것처럼 보이는 CSV / 정상 ZIP 을 만들지 않도록
+ * (그래서 AutoCloseable 이 아님: try-with-resources 는 예외가 나도 마무리해 버림).
+ */
+interface RosterSheetWriter {
+
+    void row(List<String> cells) throws IOException;
+
+    // 끝까지 다 썼을 때만 호출 (CSV: 버퍼 비우기, XLSX: 시트 닫기 + ZIP 목차)
+    void finish() throws IOException;
+
+    // ------------------------------------
+    // 🔹 CSV
+    // ------------------------------------
+    final class Csv implements RosterSheetWriter {
+        private final Writer out;
+
+        Csv(OutputStream stream) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+            out.write('\uFEFF');
+        }
+
+        @Override
+        public void row(List<String> cells) throws IOException {
+            for (int i = 0; i < cells.size(); i++) {
+                if (i > 0) out.write(',');
+                out.write(escape(cells.get(i)));
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        private static String escape(String value) {
+            if (value == null) return "";
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    // ------------------------------------
+    // 🔹 XLSX (스트리밍)
+    // ------------------------------------
+    final class Xlsx implements RosterSheetWriter {
+        private static final String CONTENT_TYPES = """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+                <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+                <Default Extension="xml" ContentType="application/xml"/>\
+                <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+                <Override PartName="/xl/worksheets/sheet1.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+                </Types>""";
+        private static final String ROOT_RELS = """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+                <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+                </Relationships>""";
+        private static final String WORKBOOK = """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+                xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+                <sheets><sheet name="%s" sheetId="1" r:id="rId1"/></sheets>\
+                </workbook>""";
+        private static final String WORKBOOK_RELS = """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+                <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" Target="worksheets/sheet1.xml"/>\
+                </Relationships>""";
+        private static final String SHEET_START = """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>""";
+        private static final String SHEET_END = "</sheetData></worksheet>";
+
+        private final ZipOutputStream zip;
+        private final Writer out;
+        private int rowNum;
+
+        Xlsx(OutputStream stream, String sheetName) throws IOException {
+            this.zip = new ZipOutputStream(stream, StandardCharsets.UTF_8);
+            this.out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+            entry("[Content_Types].xml", CONTENT_TYPES);
+            entry("_rels/.rels", ROOT_RELS);
+            entry("xl/workbook.xml", WORKBOOK.formatted(xml(sheetName)));
+            entry("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            out.write(SHEET_START);
+        }
+
+        @Override
+        public void row(List<String> cells) throws IOException {
+            rowNum++;
+            out.write("<row r=\"" + rowNum + "\">");
+            for (int i = 0; i < cells.size(); i++) {
+                String value = cells.get(i);
+                if (value == null || value.isEmpty()) continue;
+                out.write("<c r=\"" + column(i) + rowNum + "\" t=\"inlineStr\"><is><t>");
+                out.write(xml(value));
+                out.write("</t></is></c>");
+            }
+            out.write("</row>");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.write(SHEET_END);
+            out.flush();
+            zip.closeEntry();
+            zip.finish();
+        }
+
+        private void entry(String name, String content) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            out.write(content);
+            out.flush();
+            zip.closeEntry();
+        }
+
+        // 0 → A, 25 → Z, 26 → AA ...
+        private static String column(int index) {
+            StringBuilder sb = new StringBuilder();
+            for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+                sb.insert(0, (char) ('A' + (n - 1) % 26));
+            }
+            return sb.toString();
+        }
+
+        private static String xml(String value) {
+            return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+        }
+    }
+}
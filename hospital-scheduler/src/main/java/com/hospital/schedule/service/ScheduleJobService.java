@@ -0,0 +1,313 @@
+package com.hospital.schedule.service;
+
+import com.hospital.schedule.config.SchedulerProperties;
+import com.hospital.schedule.dtos.ScheduleJobDto;
+import com.hospital.schedule.dtos.ScheduleJobDto.Status;
+import com.hospital.schedule.solver.SolveBudget;
+import com.hospital.schedule.solver.SolveListener;
+import com.hospital.schedule.solver.SolveProgress;
+import com.hospital.schedule.solver.SolverEngine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 월 근무표 생성 작업 관리
+ *
+ * 생성(SA + DB 저장)은 요청 스레드(Tomcat)가 아니라 전용 실행기에서 돈다.
+ *  - 실행 스레드 수 / 대기열 크기가 고정 → 넘치면 제출 자체를 거절 (RejectedExecutionException)
+ *  - 작업 id 로 상태·진행률·점수를 조회하고 취소할 수 있음
+ *  - 끝난 작업은 retention-minutes 동안만 보관
+ *  - 탐색 전략(SolverEngine, 없으면 scheduler.solver.engine), 시간 예산 / 목표 점수를 받을 수 있고, stop 으로 지금까지의 best 를 바로 저장하고 끝낼 수 있음
+ *  - 진행 상황은 SSE 로 구독 (progress 이벤트는 SSE_MIN_INTERVAL_MS 에 한 번만 보냄)
+ *  - single-flight: 같은 요청(연/월/개월 수/직원 목록/전략/예산)이 이미 대기·실행 중이면 새로 돌리지 않고
+ *    그 작업을 그대로 돌려줌 (같은 작업 id — 취소 / stop 도 함께 적용됨)
+ *    같은 달의 서로 다른 요청은 SchedulingService 의 월 잠금에서 차례로 실행됨
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduleJobService {
+
+    private final SchedulingService schedulingService;
+    private final ShiftPreferenceService shiftPreferenceService;
+    private final HolidayService holidayService;
+    private final SchedulerProperties properties;
+
+    // 📡 SSE — 연결 유지 시간 / progress 이벤트 최소 간격
+    private static final long SSE_TIMEOUT_MS      = Duration.ofMinutes(30).toMillis();
+    private static final long SSE_MIN_INTERVAL_MS = 250;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<FlightKey, Job> inFlight = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        SchedulerProperties.Job cfg = properties.getJob();
+        AtomicInteger seq = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                cfg.getThreads(), cfg.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cfg.getQueueCapacity()),
+                r -> {
+                    Thread t = new Thread(r, "schedule-job-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 작업 제출 — 바로 작업 id 를 돌려준다
+     *
+     * @throws RejectedExecutionException 실행기/대기열이 가득 찬 경우
+     */
+    public ScheduleJobDto submit(int year, int month, List<Long> employeeIds, SolverEngine engine,
+                                 Integer timeLimitSeconds, Double targetScore) {
+        return submit(year, month, 1, employeeIds, engine, timeLimitSeconds, targetScore);
+    }
+
+    /**
+     * 여러 달(분기 등) 한 번에 생성하는 작업 제출
+     */
+    public ScheduleJobDto submit(int year, int month, int months, List<Long> employeeIds, SolverEngine engine,
+                                 Integer timeLimitSeconds, Double targetScore) {
+        return start(year, month, months, employeeIds, engine(engine), budget(timeLimitSeconds, targetScore)).toDto();
+    }
+
+    public Optional<ScheduleJobDto> get(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toDto);
+    }
+
+    /**
+     * 조기 종료 — 실행 중이면 다음 진행 보고 시점에 지금까지의 best 로 끝내고 저장
+     */
+    public Optional<ScheduleJobDto> stop(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) return Optional.empty();
+
+        job.stopRequested = true;
+        return Optional.of(job.toDto());
+    }
+
+    /**
+     * 진행 상황 구독 (SSE)
+     *  - status   : 구독 직후 / 끝났을 때 ScheduleJobDto
+     *  - progress : 솔브 중 SolveProgress (iteration, 온도, 현재/best 점수)
+     */
+    public Optional<SseEmitter> subscribe(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) return Optional.empty();
+
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        emitter.onCompletion(() -> job.emitters.remove(emitter));
+        emitter.onTimeout(() -> job.emitters.remove(emitter));
+        emitter.onError(e -> job.emitters.remove(emitter));
+        job.emitters.add(emitter);
+
+        job.send(emitter, "status", job.toDto());
+        if (job.finishedAt != null) {
+            job.emitters.remove(emitter);
+            emitter.complete();
+        }
+        return Optional.of(emitter);
+    }
+
+    /**
+     * 취소 요청 — 대기 중이면 바로 취소, 실행 중이면 다음 진행 보고 시점에 중단 (DB 는 건드리지 않음)
+     */
+    public Optional<ScheduleJobDto> cancel(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) return Optional.empty();
+
+        job.cancelRequested = true;
+        Future<?> future = job.future; // 제출 직전이면 null — run() 이 시작하자마자 취소를 확인함
+        if (job.status == Status.QUEUED && future != null && future.cancel(false)) {
+            job.finish(Status.CANCELLED, "작업이 취소되었습니다.");
+        }
+        return Optional.of(job.toDto());
+    }
+
+    private SolverEngine engine(SolverEngine requested) {
+        return requested != null ? requested : properties.getSolver().getEngine();
+    }
+
+    private SolveBudget budget(Integer timeLimitSeconds, Double targetScore) {
+        Duration limit = null;
+        if (timeLimitSeconds != null && timeLimitSeconds > 0) {
+            limit = Duration.ofSeconds(Math.min(timeLimitSeconds, properties.getSolver().getMaxTimeLimitSeconds()));
+        }
+        return new SolveBudget(limit, targetScore);
+    }
+
+    private Job start(int year, int month, int months, List<Long> employeeIds, SolverEngine engine,
+                      SolveBudget budget) {
+        purgeExpired();
+
+        // 같은 요청이 진행 중이면 합류, 아니면 새 작업 — compute 안에서는 작업만 만들고
+        // 실행기 제출은 밖에서 (맵 잠금을 잡은 채로 다른 잠금 / 대기열을 건드리지 않도록)
+        FlightKey key = new FlightKey(year, month, months, List.copyOf(employeeIds), engine, budget);
+        Job[] created = new Job[1];
+        Job job = inFlight.compute(key, (k, running) -> {
+            if (running != null && running.finishedAt == null
+                    && !running.cancelRequested && !running.stopRequested) {
+                return running;
+            }
+            return created[0] = new Job(UUID.randomUUID().toString(), k, year, month, months, k.employeeIds(),
+                    engine, budget);
+        });
+        if (job != created[0]) return job;
+
+        jobs.put(job.id, job);
+        try {
+            job.future = executor.submit(job::run);
+        } catch (RejectedExecutionException e) {
+            // 제출이 거절되면 맵에서 빼서 다음 같은 요청이 새로 시도하게
+            jobs.remove(job.id);
+            inFlight.remove(key, job);
+            throw e;
+        }
+        return job;
+    }
+
+    // single-flight 키 — 결과가 같아지는 입력 전부
+    private record FlightKey(int year, int month, int months, List<Long> employeeIds, SolverEngine engine,
+                             SolveBudget budget) {
+    }
+
+    private void purgeExpired() {
+        LocalDateTime limit = LocalDateTime.now().minusMinutes(properties.getJob().getRetentionMinutes());
+        jobs.values().removeIf(j -> j.finishedAt != null && j.finishedAt.isBefore(limit));
+    }
+
+    // 작업 하나의 상태 (실행 스레드가 쓰고 요청 스레드가 읽음)
+    private final class Job implements SolveListener {
+        final String id;
+        final FlightKey key;
+        final int year, month, months;
+        final List<Long> employeeIds;
+        final SolverEngine engine;
+        final SolveBudget budget;
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+        volatile Status status = Status.QUEUED;
+        volatile int progress;
+        volatile Double bestScore;
+        volatile String message;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile boolean cancelRequested;
+        volatile boolean stopRequested;
+        volatile long lastEventNanos;
+        volatile Future<?> future;
+
+        Job(String id, FlightKey key, int year, int month, int months, List<Long> employeeIds,
+            SolverEngine engine, SolveBudget budget) {
+            this.id          = id;
+            this.key         = key;
+            this.year        = year;
+            this.month       = month;
+            this.months      = months;
+            this.employeeIds = employeeIds;
+            this.engine      = engine;
+            this.budget      = budget;
+        }
+
+        void run() {
+            if (cancelRequested) {
+                finish(Status.CANCELLED, "작업이 취소되었습니다.");
+                return;
+            }
+            status    = Status.RUNNING;
+            startedAt = LocalDateTime.now();
+            try {
+                Set<LocalDate> holidays = holidayService.getDates(YearMonth.of(year, month), months);
+                if (months > 1) {
+                    bestScore = schedulingService.generateHorizon(
+                            year, month, months, employeeIds, holidays, engine, budget, this);
+                } else {
+                    Map<Long, List<SchedulingService.ShiftRequest>> requests = shiftPreferenceService.getRequests(year, month);
+                    bestScore = schedulingService.generateMonthlySchedule(
+                            year, month, employeeIds, holidays, requests, engine, budget, this);
+                }
+                progress = 100;
+                finish(Status.DONE, "월 근무표 자동 생성 완료!");
+            } catch (CancellationException e) {
+                finish(Status.CANCELLED, e.getMessage());
+            } catch (RuntimeException e) {
+                finish(Status.FAILED, e.getMessage());
+            }
+        }
+
+        void finish(Status status, String message) {
+            this.message    = message;
+            this.finishedAt = LocalDateTime.now();
+            this.status     = status;
+            inFlight.remove(key, this);
+
+            ScheduleJobDto dto = toDto();
+            for (SseEmitter emitter : emitters) {
+                send(emitter, "status", dto);
+                emitter.complete();
+            }
+            emitters.clear();
+        }
+
+        @Override
+        public void onProgress(SolveProgress p) {
+            long done = budget.hasTimeLimit()
+                    ? 100L * p.elapsedMillis() / budget.timeLimit().toMillis()
+                    : 100L * p.iteration() / p.maxIterations();
+            progress  = (int) Math.min(99, done);
+            bestScore = p.bestScore();
+
+            // SSE 는 SSE_MIN_INTERVAL_MS 에 한 번만 (솔버 스레드를 붙잡지 않도록)
+            long now = System.nanoTime();
+            if (emitters.isEmpty() || now - lastEventNanos < SSE_MIN_INTERVAL_MS * 1_000_000) return;
+            lastEventNanos = now;
+            for (SseEmitter emitter : emitters) {
+                send(emitter, "progress", p);
+            }
+        }
+
+        void send(SseEmitter emitter, String event, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter); // 끊긴 구독자는 버림
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelRequested;
+        }
+
+        @Override
+        public boolean isStopRequested() {
+            return stopRequested;
+        }
+
+        ScheduleJobDto toDto() {
+            return new ScheduleJobDto(id, year, month, months, engine, status, progress, bestScore, message,
+                    submittedAt, startedAt, finishedAt);
+        }
+    }
+}
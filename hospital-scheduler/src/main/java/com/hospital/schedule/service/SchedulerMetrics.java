@@ -0,0 +1,98 @@
+package com.hospital.schedule.service;
+
+import com.hospital.schedule.solver.ScoreBreakdown;
+import com.hospital.schedule.solver.SearchChain;
+import com.hospital.schedule.solver.SolverEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 근무표 솔버 메트릭 (/actuator/metrics)
+ *
+ *  - scheduler.solve{engine=...} / scheduler.persist : 탐색 전략별 솔브 시간, DB 저장 시간
+ *  - scheduler.iterations, scheduler.moves{result=accepted|rejected|infeasible}, scheduler.reheats
+ *  - scheduler.solve.throughput                : 마지막 솔브의 초당 iteration (전 체인 합)
+ *  - scheduler.score{constraint=...}           : 마지막으로 저장한 근무표의 제약조건별 점수
+ *
+ * 체인 통계는 탐색 루프 안이 아니라 솔브가 끝난 뒤 한 번에 반영한다.
+ */
+@Component
+public class SchedulerMetrics {
+
+    private final Map<SolverEngine, Timer> solveTimers = new EnumMap<>(SolverEngine.class);
+    private final Timer persistTimer;
+    private final Counter iterations;
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter infeasible;
+    private final Counter reheats;
+
+    private volatile double lastThroughput;
+    private volatile ScoreBreakdown lastScore = new ScoreBreakdown(0, 0, 0, 0, 0, 0);
+
+    public SchedulerMetrics(MeterRegistry registry) {
+        for (SolverEngine engine : SolverEngine.values()) {
+            solveTimers.put(engine, Timer.builder("scheduler.solve")
+                    .description("근무표 솔브 시간")
+                    .tag("engine", engine.name().toLowerCase())
+                    .register(registry));
+        }
+        this.persistTimer = Timer.builder("scheduler.persist").description("월 근무표 DB 저장 시간").register(registry);
+        this.iterations   = Counter.builder("scheduler.iterations").register(registry);
+        this.accepted     = moves(registry, "accepted");
+        this.rejected     = moves(registry, "rejected");
+        this.infeasible   = moves(registry, "infeasible");
+        this.reheats      = Counter.builder("scheduler.reheats").description("정체로 인한 재시작(재가열) 횟수").register(registry);
+
+        Gauge.builder("scheduler.solve.throughput", this, m -> m.lastThroughput)
+                .baseUnit("iterations/s")
+                .register(registry);
+
+        score(registry, "coverage", ScoreBreakdown::coverage);
+        score(registry, "consecutive", ScoreBreakdown::consecutive);
+        score(registry, "off_count", ScoreBreakdown::offCount);
+        score(registry, "off_balance", ScoreBreakdown::offBalance);
+        score(registry, "shift_balance", ScoreBreakdown::shiftBalance);
+        score(registry, "requests", ScoreBreakdown::requests);
+        score(registry, "total", ScoreBreakdown::total);
+    }
+
+    private static Counter moves(MeterRegistry registry, String result) {
+        return Counter.builder("scheduler.moves").tag("result", result).register(registry);
+    }
+
+    private void score(MeterRegistry registry, String constraint, ToDoubleFunction<ScoreBreakdown> value) {
+        Gauge.builder("scheduler.score", this, m -> value.applyAsDouble(m.lastScore))
+                .tag("constraint", constraint)
+                .register(registry);
+    }
+
+    public void recordSolve(long nanos, SolverEngine engine, List<? extends SearchChain> chains) {
+        solveTimers.get(engine).record(nanos, TimeUnit.NANOSECONDS);
+
+        long iter = 0;
+        for (SearchChain c : chains) {
+            iter += c.iterations();
+            accepted.increment(c.accepted());
+            rejected.increment(c.rejected());
+            infeasible.increment(c.infeasible());
+            reheats.increment(c.reheats());
+        }
+        iterations.increment(iter);
+        lastThroughput = nanos > 0 ? iter * 1e9 / nanos : 0;
+    }
+
+    public void recordPersist(long nanos, ScoreBreakdown score) {
+        persistTimer.record(nanos, TimeUnit.NANOSECONDS);
+        lastScore = score;
+    }
+}
@@ -1,347 +1,524 @@
 package com.hospital.schedule.service;
 
+import com.hospital.schedule.config.SchedulerProperties;
+import com.hospital.schedule.dtos.ShiftDto;
+import com.hospital.schedule.dtos.ShiftRepairResultDto;
 import com.hospital.schedule.dtos.ShiftRequestDto;
-import com.hospital.schedule.mapper.ShiftMapper;
+import com.hospital.schedule.solver.AnnealingChain;
+import com.hospital.schedule.solver.Coverage;
+import com.hospital.schedule.solver.CoverageRules;
+import com.hospital.schedule.solver.HardRules;
+import com.hospital.schedule.solver.InitialSchedule;
+import com.hospital.schedule.solver.MonthPrefix;
+import com.hospital.schedule.solver.RequestPenalties;
+import com.hospital.schedule.solver.SearchChain;
+import com.hospital.schedule.solver.SolveBudget;
+import com.hospital.schedule.solver.SolveListener;
+import com.hospital.schedule.solver.SolveProgress;
+import com.hospital.schedule.solver.Solution;
+import com.hospital.schedule.solver.SolverEngine;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.*;
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 /**
- * Simulated Annealing 기반 근무표 자동 생성
+ * 메타휴리스틱 기반 근무표 자동 생성 (기본 Simulated Annealing, 요청마다 SolverEngine 선택)
  *
  * 핵심 제약:
  *  1) 30일 기준 1인당 OFF 10~11일 수준 (daysInMonth * 10 / 30 근처)
  *  2) 최대 연속 근무 4일 이하
  *  3) 금지 패턴: N→D, N→E, N-O-D (하드 제약으로 완전 차단)
+ *     초기 해(InitialSchedule)부터 패턴 없이 만들고, 탐색도 패턴을 깨지 않는 이동만 쓴다.
  *
  * 보조 제약:
- *  - 평일: D=3, E=2, N=2
- *  - 주말/공휴일: D=2, E=2, N=2  (커버리지 만족 못하면 큰 패널티)
+ *  - 날짜 유형별 최소 인원 (scheduler.coverage.*, 기본 평일 D=3/E=2/N=2, 주말·공휴일 D=2/E=2/N=2)
+ *    공휴일은 holiday 테이블 (커버리지 만족 못하면 큰 패널티)
+ *  - 직원 근무 요청(휴무 신청 / 희망·기피): 솔브마다 RequestPenalties 로 한 번 펼쳐서 점수에 반영
+ *
+ * 병렬 모드: scheduler.solver.chains 개의 체인을 solverPool 에서 동시에 돌리고,
+ * exchange-interval 마다 가장 나쁜 체인이 전역 best 해로 갈아탄다.
+ * 체인마다 SplittableRandom 과 전략 파라미터(시작 온도 / tenure / 이력 길이)가 다르다.
+ *
+ * 예산(SolveBudget): 시간 한도가 있으면 다 식은 체인을 다시 데워 가며 한도까지 돌고,
+ * 목표 점수에 닿거나 조기 종료 요청이 오면 그 자리에서 best 해로 끝낸다.
+ *
+ * 달 경계: 이전 달 마지막 MonthPrefix.DAYS 일을 한 쿼리로 읽어 고정 prefix 로 붙인다
+ * (1일의 N→D, 달을 넘는 연속 근무도 판정). 여러 달(generateHorizon)은 달별로 병렬로 풀고
+ * 앞 달 결과를 다음 달 prefix 로 이어 붙인 뒤 경계 근처만 짧게 다시 푼다.
+ *
+ * 부분 수정(repairMonth): 저장된 근무표에서 출발해 문제가 생긴 날짜 주변만 낮은 온도로 짧게 다시 풀고,
+ * 바뀐 셀만 저장한다. 수기 입력 셀(is_manual)은 고정.
+ *
+ * 동시성: 생성 / 여러 달 생성 / 부분 수정은 대상 달의 MonthLocks 를 잡고 솔브 + 저장까지 진행한다.
+ * 같은 달의 다른 생성은 기다리고, 그동안 들어온 근무 수정은 MonthBusyException(409) 으로 거절된다.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SchedulingService {
 
-    private final ShiftMapper shiftMapper;
+    private final ShiftService shiftService;
+    private final SchedulerProperties properties;
+    private final ForkJoinPool solverPool;
+    private final SchedulerMetrics metrics;
+    private final ShiftPreferenceService shiftPreferenceService;
+    private final MonthLocks monthLocks;
+    private final CoverageRules coverageRules;
 
-    // === 근무 타입 ID (DB 고정값 기준) ===
-    private static final long DAY   = 1L;
-    private static final long EVE   = 2L;
-    private static final long NIGHT = 3L;
-    private static final long OFF   = 4L;
+    // === 근무 타입 ID (DB 고정값 기준, 해 표현에서는 1바이트 코드) ===
+    private static final int OFF = 4;
 
-    // 🔥 시뮬레이티드 어닐링 파라미터
-    private static final double INITIAL_T          = 120.0;
-    private static final double COOLING_RATE       = 0.985;
-    private static final int    MAX_ITER           = 10_000;
-    private static final int    MAX_NO_IMPROVEMENT = 1_200;
+    // 🔥 탐색 전략별 파라미터는 AnnealingChain / TabuChain / LateAcceptanceChain 참고
 
-    // 🧩 제약조건 파라미터
-    private static final int MAX_CONSEC_WORK_DAYS = 4; // 최대 연속 근무일
+    // 🩹 부분 수정 시 문제 날짜 앞뒤로 같이 풀어 줄 날 수 (금지 패턴 길이 3일 → ±2일)
+    private static final int REPAIR_WINDOW = 2;
 
-    // 커버리지 (Day/Eve/Night 최소 인원: false=평일, true=주말/공휴일)
-    private static final Map<Boolean, int[]> COVERAGE = Map.of(
-            false, new int[]{3, 2, 2}, // 평일: D=3, E=2, N=2
-            true,  new int[]{2, 2, 2}  // 주말/공휴일: D=2, E=2, N=2
-    );
+    // 🧵 여러 달 생성 — 최대 개월 수 / 달 경계 이어 붙인 뒤 다시 풀 앞쪽 날 수
+    private static final int MAX_HORIZON_MONTHS = 12;
+    private static final int BOUNDARY_DAYS      = MonthPrefix.DAYS + REPAIR_WINDOW;
 
-    // 🏗️ 페널티 가중치
-    private static final double W_COVERAGE   = 500.0; // 커버리지 부족
-    private static final double W_CONSEC     = 250.0; // 연속 근무 초과
-    private static final double W_OFF_COUNT  = 60.0;  // OFF 개수 목표와의 차이
-    private static final double W_BALANCE    = 10.0;  // D/E/N 균형(표준편차)
-    private static final double W_OFF_STD    = 20.0;  // OFF 균형(표준편차)
+    // 🏗️ 커버리지는 Coverage (+ scheduler.coverage.*), 제약조건 파라미터 / 페널티 가중치는 ScoreState 참고
 
-    // 직원 요청 데이터 구조(현재는 사용하지 않지만 시그니처 유지용)
-    public record ShiftRequest(long employeeId, LocalDate date, long shiftTypeId) {}
+    // 직원 근무 요청 — avoid = false 면 "이 근무를 원함", true 면 "이 근무는 빼 주세요"
+    public record ShiftRequest(long employeeId, LocalDate date, long shiftTypeId, boolean avoid) {}
 
     /**
-     * 월 단위 최적 근무표 생성 (Simulated Annealing)
+     * 월 단위 최적 근무표 생성 (기본 탐색 전략 scheduler.solver.engine)
      */
-    public void generateMonthlySchedule(
+    public double generateMonthlySchedule(
             int year, int month,
             List<Long> employeeIds,
             Set<LocalDate> holidays,
             Map<Long, List<ShiftRequest>> requests
+    ) {
+        return generateMonthlySchedule(year, month, employeeIds, holidays, requests,
+                properties.getSolver().getEngine(), SolveBudget.NONE, SolveListener.NONE);
+    }
+
+    /**
+     * 월 단위 최적 근무표 생성 — 탐색 전략 선택, 시간/목표 점수 예산, 진행 상황 보고 / 취소 / 조기 종료 지원
+     *
+     * 같은 달을 생성 / 부분 수정 중인 작업이 있으면 끝날 때까지 기다렸다가 시작한다 (MonthLocks).
+     *
+     * @return 저장된 근무표의 최종 점수 (낮을수록 좋음)
+     * @throws CancellationException listener 가 취소를 요청한 경우 (DB 는 건드리지 않음)
+     */
+    public double generateMonthlySchedule(
+            int year, int month,
+            List<Long> employeeIds,
+            Set<LocalDate> holidays,
+            Map<Long, List<ShiftRequest>> requests,
+            SolverEngine engine,
+            SolveBudget budget,
+            SolveListener listener
+    ) {
+        return monthLocks.generate(List.of(YearMonth.of(year, month)), listener::isCancelled,
+                () -> generateMonthLocked(year, month, employeeIds, holidays, requests, engine, budget, listener));
+    }
+
+    private double generateMonthLocked(
+            int year, int month,
+            List<Long> employeeIds,
+            Set<LocalDate> holidays,
+            Map<Long, List<ShiftRequest>> requests,
+            SolverEngine engine,
+            SolveBudget budget,
+            SolveListener listener
     ) {
         YearMonth ym = YearMonth.of(year, month);
-        int daysInMonth = ym.lengthOfMonth();
         int empCount    = employeeIds.size();
 
         if (empCount < 7) {
-            System.out.println("[경고] 권장 최소 인원은 7명 이상입니다 (현재: " + empCount + ")");
+            log.warn("[경고] 권장 최소 인원은 7명 이상입니다 (현재: {})", empCount);
         }
 
-        // 1️⃣ 초기 해 생성 (금지 패턴 최대한 피해서)
-        long[][] init = createInitialSchedule(year, month, employeeIds, holidays);
-        Solution current = new Solution(year, month, employeeIds, init, holidays, requests);
-        Solution best    = current.copy();
+        // 1️⃣ + 2️⃣ 체인별 초기 해 생성 → 탐색
+        int[][] required = Coverage.requirements(year, month, holidays, coverageRules);
+        RequestPenalties penalties = compileRequests(ym, employeeIds, requests);
+        MonthPrefix prefix = loadPrefix(ym, employeeIds);
+        Solution best = solve(year, month, employeeIds, required, penalties, prefix, engine, budget, listener);
 
-        double temp      = INITIAL_T;
-        double currScore = evaluate(current);
-        double bestScore = currScore;
-        int    noImprove = 0;
-        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        // 3️⃣ 마지막으로 하드 패턴(N→D/E, N-O-D)이 남아 있으면 안전하게 고치는 후처리
+        fixHardPatterns(best);
 
-        // 2️⃣ Simulated Annealing 루프
-        for (int iter = 0; iter < MAX_ITER && temp > 0.1; iter++) {
-            Solution neighbor = current.copy();
+        // 4️⃣ DB 저장 (월 삭제 + 다건 등록을 한 트랜잭션으로)
+        long persistStart = System.nanoTime();
+        shiftService.replaceMonth(year, month, toRows(best));
+        metrics.recordPersist(System.nanoTime() - persistStart, best.breakdown());
 
-            // 금지 패턴을 깨지 않는 neighbor만 사용
-            if (!makeNeighbor(neighbor, rnd)) {
-                continue; // 유효한 이웃을 못 만들면 이번 iteration skip
-            }
-
-            double nextScore = evaluate(neighbor);
+        log.info("{}-{} 근무표 저장 완료: 직원 {}명, 점수 {}", year, month, empCount, best.breakdown());
+        return best.score();
+    }
 
-            if (accept(currScore, nextScore, temp, rnd)) {
-                current   = neighbor;
-                currScore = nextScore;
+    /**
+     * 여러 달(분기 등) 근무표 한 번에 생성
+     *
+     *  1) 달마다 독립적으로 병렬 풀기 (첫 달만 DB 의 이전 달 근무를 prefix 로)
+     *     달 작업은 이번 호출 전용 스레드에서 돌고 solverPool 에는 체인만 올라감 (풀 안에서 중첩 join 하지 않음)
+     *  2) 앞 달 결과의 마지막 며칠을 다음 달 prefix 로 이어 붙이고, 경계 패턴을 끊은 뒤 앞쪽 BOUNDARY_DAYS 일만 저온으로 짧게 다시 풀기
+     *  3) 진행 상황은 달별 최신 값을 합쳐 한 줄로 보고 (동시에 보고해도 하나씩 차례로 넘김)
+     *  4) 전체를 한 트랜잭션으로 저장
+     * 달이 동시에 풀리므로 시간 예산은 달마다 전체 한도 그대로 (전체 작업 시간도 한 달 생성과 같은 한도).
+     *
+     * @return 달별 최종 점수의 합
+     * @throws CancellationException listener 가 취소를 요청한 경우 (DB 는 건드리지 않음)
+     */
+    public double generateHorizon(int year, int month, int months, List<Long> employeeIds,
+                                  Set<LocalDate> holidays, SolverEngine engine, SolveBudget budget,
+                                  SolveListener listener) {
+        if (months < 1 || months > MAX_HORIZON_MONTHS) {
+            throw new IllegalArgumentException("months 는 1~" + MAX_HORIZON_MONTHS + " 이어야 합니다.");
+        }
+        List<YearMonth> range = new ArrayList<>(months);
+        for (int k = 0; k < months; k++) range.add(YearMonth.of(year, month).plusMonths(k));
+        return monthLocks.generate(range, listener::isCancelled,
+                () -> generateHorizonLocked(year, month, months, employeeIds, holidays, engine, budget, listener));
+    }
 
-                if (nextScore < bestScore) {
-                    best      = neighbor.copy();
-                    bestScore = nextScore;
-                    noImprove = 0;
-                } else {
-                    noImprove++;
-                }
-            } else {
-                noImprove++;
+    private double generateHorizonLocked(int year, int month, int months, List<Long> employeeIds,
+                                         Set<LocalDate> holidays, SolverEngine engine, SolveBudget budget,
+                                         SolveListener listener) {
+        YearMonth first = YearMonth.of(year, month);
+        MonthPrefix head = loadPrefix(first, employeeIds);
+        HorizonProgress progress = new HorizonProgress(listener, months);
+
+        // 1️⃣ 달별 병렬 풀기 (요청 목록은 DB 를 읽으므로 여기서 미리)
+        ExecutorService monthPool = Executors.newFixedThreadPool(months);
+        List<Solution> solved = new ArrayList<>(months);
+        try {
+            List<CompletableFuture<Solution>> tasks = new ArrayList<>(months);
+            for (int k = 0; k < months; k++) {
+                YearMonth ym = first.plusMonths(k);
+                MonthPrefix prefix = (k == 0) ? head : null;
+                Map<Long, List<ShiftRequest>> requests = shiftPreferenceService.getRequests(ym.getYear(), ym.getMonthValue());
+                SolveListener monthProgress = progress.forMonth(k);
+                tasks.add(CompletableFuture.supplyAsync(() -> {
+                    int[][] required = Coverage.requirements(ym.getYear(), ym.getMonthValue(), holidays, coverageRules);
+                    RequestPenalties penalties = compileRequests(ym, employeeIds, requests);
+                    return solve(ym.getYear(), ym.getMonthValue(), employeeIds, required, penalties, prefix,
+                            engine, budget, monthProgress);
+                }, monthPool).whenComplete((s, e) -> {
+                    if (e != null) progress.abort(); // 한 달이 실패하면 나머지 달도 멈춤
+                }));
             }
-
-            temp *= COOLING_RATE;
-
-            if (noImprove > MAX_NO_IMPROVEMENT) {
-                temp      = INITIAL_T;
-                noImprove = 0;
+            for (CompletableFuture<Solution> task : tasks) {
+                solved.add(task.join());
             }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("근무표 생성 중 오류가 발생했습니다.", e.getCause());
+        } finally {
+            monthPool.shutdownNow();
         }
 
-        // 3️⃣ 마지막으로 하드 패턴(N→D/E, N-O-D)이 남아 있으면 안전하게 고치는 후처리
-        fixHardPatterns(best);
-
-        // 4️⃣ DB 저장
-        shiftMapper.deleteByMonth(year, month);
-        for (int d = 1; d <= daysInMonth; d++) {
-            LocalDate date = LocalDate.of(year, month, d);
-            for (int i = 0; i < empCount; i++) {
-                long type = best.grid[i][d];
-                ShiftRequestDto dto = new ShiftRequestDto();
-                dto.setEmployeeId(employeeIds.get(i));
-                dto.setShiftTypeId(type);
-                dto.setWorkDate(date);
-                shiftMapper.insert(dto);
+        // 2️⃣ 경계 이어 붙이기 — 앞 달 마지막 며칠을 고정하고 다음 달 앞쪽만 다시 풀기
+        Map<YearMonth, List<ShiftRequestDto>> rows = new LinkedHashMap<>();
+        double total = 0;
+        Solution prev = null;
+        for (Solution s : solved) {
+            if (prev != null) {
+                s = stitch(s.withPrefix(tailOf(prev)));
             }
+            fixHardPatterns(s);
+            rows.put(YearMonth.of(s.year, s.month), toRows(s));
+            total += s.score();
+            prev = s;
         }
-    }
-
-    // ------------------------------------
-    // 🔹 초기 해 생성
-    //  - 하루마다 D/E/N 최소 인원 채우고 나머지는 OFF
-    //  - 가능한 한 N→D/E, N-O-D 피해서 배치
-    // ------------------------------------
-    private long[][] createInitialSchedule(
-            int year, int month, List<Long> empIds, Set<LocalDate> holidays
-    ) {
-        YearMonth ym = YearMonth.of(year, month);
-        int days = ym.lengthOfMonth();
-        int E    = empIds.size();
-        long[][] grid = new long[E][days + 1];
 
-        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        // 3️⃣ 한 트랜잭션으로 저장
+        long persistStart = System.nanoTime();
+        shiftService.replaceMonths(rows);
+        metrics.recordPersist(System.nanoTime() - persistStart, prev.breakdown());
 
-        for (int d = 1; d <= days; d++) {
-            LocalDate date = LocalDate.of(year, month, d);
-            boolean wknd  = isWeekendOrHoliday(date, holidays);
+        log.info("{} ~ {} 근무표 저장 완료: 직원 {}명, 점수 합 {}",
+                first, first.plusMonths(months - 1), employeeIds.size(), total);
+        return total;
+    }
 
-            int[] req = Arrays.copyOf(COVERAGE.get(wknd), 3); // {D,E,N}
-            List<Integer> order = new ArrayList<>();
-            for (int i = 0; i < E; i++) order.add(i);
-            Collections.shuffle(order);
+    // 앞쪽 BOUNDARY_DAYS 일만 저온으로 다시 풀기 (이전 달 prefix 는 고정)
+    //  - 따로 푼 달을 이어 붙이면 1~2일에 금지 패턴이 생길 수 있음 → 먼저 OFF 로 끊고,
+    //    이웃 이동은 패턴을 만들지 않으므로 재탐색은 그로 인해 빠진 커버리지만 메움
+    private Solution stitch(Solution s) {
+        breakHardPatterns(s);
+        int[] days = new int[Math.min(BOUNDARY_DAYS, s.daysInMonth)];
+        for (int d = 1; d <= days.length; d++) days[d - 1] = d;
+
+        long started = System.nanoTime();
+        AnnealingChain chain = AnnealingChain.repair(s, days, newRandom());
+        chain.run(AnnealingChain.REPAIR_ITER);
+        metrics.recordSolve(System.nanoTime() - started, SolverEngine.ANNEALING, List.of(chain));
+        return chain.best();
+    }
 
-            // helper: 이 직원에게 오늘 type을 주면 하드 패턴 깨지는지?
-            for (int shiftIdx = 0; shiftIdx < 3; shiftIdx++) { // 0:D,1:E,2:N
-                long type = (shiftIdx == 0 ? DAY : (shiftIdx == 1 ? EVE : NIGHT));
-                int need  = req[shiftIdx];
-                if (need <= 0) continue;
+    /**
+     * 여러 달 생성의 진행 상황을 전체 기준으로 합쳐서 넘김
+     *  - 달마다 마지막 보고를 기억해 두고 iteration / maxIterations / 점수는 그 합 (아직 보고 안 한 달은 0)
+     *  - 가능해 여부는 모든 달이 가능해일 때만, 경과 시간은 여러 달 생성 시작 후
+     *  - 여러 달 스레드가 동시에 보고하므로 합산과 delegate 호출을 한 번에 하나씩 (SSE 이벤트가 섞이지 않게)
+     */
+    private static final class HorizonProgress {
+        private final SolveListener delegate;
+        private final SolveProgress[] latest;
+        private final long started = System.nanoTime();
+        private volatile boolean aborted;
+
+        HorizonProgress(SolveListener delegate, int months) {
+            this.delegate = delegate;
+            this.latest   = new SolveProgress[months];
+        }
 
-                for (int idx : order) {
-                    if (need == 0) break;
-                    if (grid[idx][d] != 0) continue;
+        SolveListener forMonth(int month) {
+            return new SolveListener() {
+                @Override
+                public void onProgress(SolveProgress p) {
+                    report(month, p);
+                }
 
-                    if (isHardPatternIfAssign(grid, idx, d, type)) {
-                        continue; // 이 사람한테 이 타입 주면 하드 패턴 깨짐
-                    }
-                    grid[idx][d] = type;
-                    need--;
+                @Override
+                public boolean isCancelled() {
+                    return aborted || delegate.isCancelled();
                 }
-                req[shiftIdx] = need;
-            }
 
-            // 아직 커버리지 못 채웠으면, 패턴 무시하고 강제로 채움 (나중에 SA & 후처리에서 보정)
-            for (int shiftIdx = 0; shiftIdx < 3; shiftIdx++) {
-                long type = (shiftIdx == 0 ? DAY : (shiftIdx == 1 ? EVE : NIGHT));
-                int need  = req[shiftIdx];
-                if (need <= 0) continue;
-
-                for (int idx : order) {
-                    if (need == 0) break;
-                    if (grid[idx][d] != 0) continue;
-                    grid[idx][d] = type;
-                    need--;
+                @Override
+                public boolean isStopRequested() {
+                    return delegate.isStopRequested();
                 }
-                req[shiftIdx] = need;
-            }
+            };
+        }
+
+        void abort() {
+            aborted = true;
+        }
 
-            // 남은 사람은 OFF
-            for (int idx : order) {
-                if (grid[idx][d] == 0) {
-                    grid[idx][d] = OFF;
+        private synchronized void report(int month, SolveProgress p) {
+            latest[month] = p;
+            int iteration = 0, maxIterations = 0;
+            double current = 0, best = 0;
+            boolean feasible = true;
+            for (SolveProgress m : latest) {
+                if (m == null) {
+                    maxIterations += p.maxIterations();
+                    feasible = false;
+                    continue;
                 }
+                iteration     += m.iteration();
+                maxIterations += m.maxIterations();
+                current       += m.currentScore();
+                best          += m.bestScore();
+                feasible      &= m.feasible();
             }
+            delegate.onProgress(new SolveProgress(iteration, maxIterations, p.temperature(),
+                    current, best, feasible, (System.nanoTime() - started) / 1_000_000));
         }
-
-        return grid;
     }
 
-    private boolean isWeekendOrHoliday(LocalDate date, Set<LocalDate> holidays) {
-        return date.getDayOfWeek() == DayOfWeek.SATURDAY
-                || date.getDayOfWeek() == DayOfWeek.SUNDAY
-                || (holidays != null && holidays.contains(date));
+    // s 의 마지막 MonthPrefix.DAYS 일 → 다음 달 prefix
+    private static MonthPrefix tailOf(Solution s) {
+        MonthPrefix tail = new MonthPrefix(s.empIds.size());
+        for (int i = 0; i < s.empIds.size(); i++) {
+            for (int k = 1; k <= MonthPrefix.DAYS; k++) {
+                tail.set(i, k, s.get(i, s.daysInMonth + 1 - k));
+            }
+        }
+        return tail;
     }
 
-    // ------------------------------------
-    // 🔹 이웃 해 생성 (금지 패턴을 깨지 않는 선에서 swap 또는 변경)
-    // ------------------------------------
-    private boolean makeNeighbor(Solution s, ThreadLocalRandom rnd) {
-        int E = s.empIds.size();
-        int D = s.daysInMonth;
-
-        // 여러 번 시도해 보다가 유효한 변경 못 찾으면 false
-        for (int attempt = 0; attempt < 30; attempt++) {
-            int day = 1 + rnd.nextInt(D);
-
-            if (rnd.nextDouble() < 0.6) {
-                // 같은 날짜에 두 사람 근무 교환
-                int a = rnd.nextInt(E);
-                int b = rnd.nextInt(E);
-                if (a == b) continue;
-
-                long tA = s.grid[a][day];
-                long tB = s.grid[b][day];
-                s.grid[a][day] = tB;
-                s.grid[b][day] = tA;
-
-                if (!violatesHardRule(s)) {
-                    return true;
-                }
+    /**
+     * 이전 달 마지막 MonthPrefix.DAYS 일 근무를 한 쿼리로 읽어 prefix 로 (없으면 null)
+     */
+    private MonthPrefix loadPrefix(YearMonth ym, List<Long> employeeIds) {
+        LocalDate start = ym.atDay(1);
+        List<ShiftDto> rows = shiftService.getByRange(start.minusDays(MonthPrefix.DAYS), start);
+        if (rows.isEmpty()) return null;
+
+        Map<Long, Integer> index = new HashMap<>();
+        for (int i = 0; i < employeeIds.size(); i++) index.put(employeeIds.get(i), i);
+
+        MonthPrefix prefix = new MonthPrefix(employeeIds.size());
+        for (ShiftDto row : rows) {
+            Integer i = index.get(row.getEmployeeId());
+            if (i == null) continue;
+            int daysBefore = (int) (start.toEpochDay() - row.getWorkDate().toEpochDay());
+            prefix.set(i, daysBefore, row.getShiftTypeId().intValue());
+        }
+        return prefix;
+    }
 
-                // 되돌리기
-                s.grid[a][day] = tA;
-                s.grid[b][day] = tB;
-            } else {
-                // 한 사람의 특정 날짜 근무 변경
-                int e = rnd.nextInt(E);
-                long old = s.grid[e][day];
-                long[] options = new long[]{DAY, EVE, NIGHT, OFF};
-                long neo = options[rnd.nextInt(options.length)];
-                if (neo == old) continue;
-
-                s.grid[e][day] = neo;
-                if (!violatesHardRule(s)) {
-                    return true;
-                }
-                s.grid[e][day] = old;
+    private static List<ShiftRequestDto> toRows(Solution s) {
+        int empCount = s.empIds.size();
+        List<ShiftRequestDto> rows = new ArrayList<>(s.daysInMonth * empCount);
+        for (int d = 1; d <= s.daysInMonth; d++) {
+            LocalDate date = LocalDate.of(s.year, s.month, d);
+            for (int i = 0; i < empCount; i++) {
+                ShiftRequestDto dto = new ShiftRequestDto();
+                dto.setEmployeeId(s.empIds.get(i));
+                dto.setShiftTypeId((long) s.get(i, d));
+                dto.setWorkDate(date);
+                rows.add(dto);
             }
         }
-        return false;
+        return rows;
     }
 
     /**
-     * grid[idx][day]에 type을 배치하면 하드 패턴(N→D/E, N-O-D)을 만드는지 검사
+     * 근무표 부분 수정 — 병가/인원 추가/수기 수정 뒤에 월 전체를 다시 만들지 않고 고친다
+     *
+     *  1) 저장된 월 근무표를 그대로 시작 해로 (수기 입력 셀은 고정)
+     *  2) 문제 날짜 = 미배정 셀 / 커버리지 부족 / 금지 패턴이 있는 날 → ±REPAIR_WINDOW 일로 넓힘
+     *  3) 그 날짜만 낮은 온도의 짧은 SA (체인 1개, 현재 스레드)
+     *  4) 원래와 달라진 셀만 upsert
+     * 요청 스레드에서 바로 돌므로 그 달이 생성 / 수정 중이면 오래 기다리지 않고 MonthBusyException (409)
+     *
+     * @param employeeIds 이번 달 명단 (이미 근무가 있는 직원은 자동 포함 — 새 직원만 넘겨도 됨)
      */
-    private boolean isHardPatternIfAssign(long[][] grid, int idx, int day, long type) {
-        long prev1 = (day > 1) ? grid[idx][day - 1] : OFF;
-        long prev2 = (day > 2) ? grid[idx][day - 2] : OFF;
+    public ShiftRepairResultDto repairMonth(int year, int month, List<Long> employeeIds, Set<LocalDate> holidays) {
+        return monthLocks.tryGenerate(List.of(YearMonth.of(year, month)),
+                () -> repairMonthLocked(year, month, employeeIds, holidays));
+    }
 
-        // N → D/E 금지
-        if (prev1 == NIGHT && (type == DAY || type == EVE)) return true;
+    private ShiftRepairResultDto repairMonthLocked(int year, int month, List<Long> employeeIds,
+                                                   Set<LocalDate> holidays) {
+        long started = System.nanoTime();
+        YearMonth ym = YearMonth.of(year, month);
+        int daysInMonth = ym.lengthOfMonth();
 
-        // N-O-D 금지
-        if (prev2 == NIGHT && prev1 == OFF && type == DAY) return true;
+        List<ShiftDto> current = shiftService.getByMonth(year, month);
+        Set<Long> roster = new LinkedHashSet<>(employeeIds == null ? List.of() : employeeIds);
+        for (ShiftDto row : current) roster.add(row.getEmployeeId());
+        if (roster.isEmpty()) {
+            throw new IllegalArgumentException("수정할 근무표가 없습니다. (" + ym + ")");
+        }
+        List<Long> ids = new ArrayList<>(roster);
+        Map<Long, Integer> index = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) index.put(ids.get(i), i);
+
+        // 1️⃣ 저장된 근무표 → 시작 해
+        int[][] required = Coverage.requirements(year, month, holidays, coverageRules);
+        RequestPenalties penalties = compileRequests(ym, ids, shiftPreferenceService.getRequests(year, month));
+        Solution s = Solution.empty(year, month, ids, required, penalties, loadPrefix(ym, ids));
+        for (ShiftDto row : current) {
+            int i = index.get(row.getEmployeeId());
+            int d = row.getWorkDate().getDayOfMonth();
+            s.set(i, d, row.getShiftTypeId().intValue());
+            if (row.isManual()) s.lock(i, d);
+        }
+        Solution original = s.copy();
 
-        // 👉 새로 추가: E → D 금지
-        if (prev1 == EVE && type == DAY) return true;
+        // 2️⃣ 문제 날짜 찾기
+        long affected = 0;
+        for (int d = 1; d <= daysInMonth; d++) {
+            int[] count = new int[3];
+            boolean unassigned = false;
+            for (int i = 0; i < ids.size(); i++) {
+                int t = s.get(i, d);
+                if (t == 0) unassigned = true;
+                else if (t < OFF) count[t - 1]++;
+            }
+            if (unassigned || count[0] < required[d][0] || count[1] < required[d][1] || count[2] < required[d][2]) {
+                affected |= 1L << d;
+            }
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            affected |= s.violations(i);
+            for (int d = 1; d <= daysInMonth; d++) {
+                if (s.get(i, d) == 0) s.set(i, d, OFF); // 새 직원 / 빈 칸은 OFF 로 시작
+            }
+        }
+        long widened = affected;
+        for (int k = 1; k <= REPAIR_WINDOW; k++) widened |= (affected << k) | (affected >>> k);
+        affected = widened & (((1L << daysInMonth) - 1) << 1);
+
+        // 3️⃣ 문제 날짜만 짧게 다시 풀기
+        Solution best = s;
+        int[] days = new int[Long.bitCount(affected)];
+        if (days.length > 0) {
+            for (int k = 0, d = 1; d <= daysInMonth; d++) {
+                if ((affected & (1L << d)) != 0) days[k++] = d;
+            }
+            long solveStart = System.nanoTime();
+            AnnealingChain chain = AnnealingChain.repair(s, days, newRandom());
+            chain.run(AnnealingChain.REPAIR_ITER);
+            best = chain.best();
+            metrics.recordSolve(System.nanoTime() - solveStart, SolverEngine.ANNEALING, List.of(chain));
+        }
+        fixHardPatterns(best);
+        revertNeutralChanges(best, original);
+
+        // 4️⃣ 바뀐 셀만 저장
+        long persistStart = System.nanoTime();
+        List<ShiftRequestDto> rows = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            for (int d = 1; d <= daysInMonth; d++) {
+                if (best.get(i, d) == original.get(i, d)) continue;
+                ShiftRequestDto dto = new ShiftRequestDto();
+                dto.setEmployeeId(ids.get(i));
+                dto.setShiftTypeId((long) best.get(i, d));
+                dto.setWorkDate(ym.atDay(d));
+                rows.add(dto);
+            }
+        }
+        if (!rows.isEmpty()) {
+            shiftService.insertAll(rows);
+            metrics.recordPersist(System.nanoTime() - persistStart, best.breakdown());
+        }
 
-        return false;
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("{}-{} 근무표 부분 수정: 대상 {}일, 변경 {}칸, 점수 {} ({}ms)",
+                year, month, days.length, rows.size(), best.breakdown(), elapsedMs);
+        return new ShiftRepairResultDto(days.length, rows.size(), best.score(), elapsedMs);
     }
 
-
     /**
-     * 현재 grid가 하드 패턴(N→D/E, N-O-D)을 포함하는지 검사
+     * 직원별 요청 목록 → 직원 × 날짜 × 근무 타입 페널티 배열 (솔브당 한 번)
+     *  - 명단에 없는 직원 / 다른 달 날짜는 무시
      */
-    private boolean violatesHardRule(Solution s) {
-        int E = s.empIds.size();
-        int D = s.daysInMonth;
-
-        for (int i = 0; i < E; i++) {
-            for (int d = 2; d <= D; d++) {
-                long yesterday = s.grid[i][d - 1];
-                long today = s.grid[i][d];
-
-                // N -> D/E 금지
-                if (yesterday == NIGHT && (today == DAY || today == EVE)) {
-                    return true;
-                }
-
-                // N O D 금지
-                if (d >= 3) {
-                    long t2 = s.grid[i][d - 2];
-                    long t1 = s.grid[i][d - 1];
-                    long t0 = s.grid[i][d];
-                    if (t2 == NIGHT && t1 == OFF && t0 == DAY) {
-                        return true;
-                    }
-                }
-
-                // 👉 새로 추가: E -> D 금지
-                if (yesterday == EVE && today == DAY) {
-                    return true;
-                }
+    private static RequestPenalties compileRequests(YearMonth ym, List<Long> employeeIds,
+                                                    Map<Long, List<ShiftRequest>> requests) {
+        if (requests == null || requests.isEmpty()) return null;
+
+        RequestPenalties penalties = new RequestPenalties(employeeIds.size(), ym.lengthOfMonth());
+        for (int i = 0; i < employeeIds.size(); i++) {
+            for (ShiftRequest r : requests.getOrDefault(employeeIds.get(i), List.of())) {
+                if (!YearMonth.from(r.date()).equals(ym) || r.shiftTypeId() < 1 || r.shiftTypeId() > OFF) continue;
+                int d = r.date().getDayOfMonth();
+                if (r.avoid()) penalties.avoid(i, d, (int) r.shiftTypeId());
+                else penalties.want(i, d, (int) r.shiftTypeId());
             }
         }
-
-        return false;
+        return penalties.count() == 0 ? null : penalties;
     }
 
-
     /**
-     * 마지막 안전장치: 혹시 남아 있는 N→D/E, N-O-D 패턴을 OFF로 강제로 끊어 줌
+     * 점수를 나쁘게 하지 않는 변경은 원래 값으로 되돌린다 (변경 칸 최소화)
+     *  - 저온 SA 도 점수가 같은 이동은 받아들이므로, 그런 "떠돌이" 변경을 걷어냄
      */
-    private void fixHardPatterns(Solution s) {
-        int E = s.empIds.size();
-        int D = s.daysInMonth;
-
-        for (int i = 0; i < E; i++) {
-            for (int d = 2; d <= D; d++) {
-                long y = s.grid[i][d - 1];
-                long t = s.grid[i][d];
-
-                // N → D/E 는 오늘을 OFF로 바꿔서 끊음
-                if (y == NIGHT && (t == DAY || t == EVE)) {
-                    s.grid[i][d] = OFF;
-                }
-
-                // N-O-D 는 마지막 D 를 OFF로 변경
-                if (d >= 3) {
-                    long t2 = s.grid[i][d - 2];
-                    long t1 = s.grid[i][d - 1];
-                    long t0 = s.grid[i][d];
-                    if (t2 == NIGHT && t1 == OFF && t0 == DAY) {
-                        s.grid[i][d] = OFF;
+    private void revertNeutralChanges(Solution s, Solution original) {
+        boolean reverted = true;
+        while (reverted) {
+            reverted = false;
+            for (int i = 0; i < s.empIds.size(); i++) {
+                for (int d = 1; d <= s.daysInMonth; d++) {
+                    int was = original.get(i, d);
+                    int now = s.get(i, d);
+                    if (was == now || was == 0 || s.isLocked(i, d)) continue;
+
+                    double before = s.score();
+                    s.set(i, d, was);
+                    if (s.violatesAround(i, d) || s.score() > before + 1e-9) {
+                        s.set(i, d, now);
+                    } else {
+                        reverted = true;
                     }
                 }
             }
@@ -349,125 +526,152 @@ public class SchedulingService {
     }
 
     // ------------------------------------
-    // 🔹 SA 수용 함수
+    // 🔹 탐색 실행 (체인 1개면 현재 스레드, 여러 개면 solverPool)
+    //  - exchange-interval 마다 진행 상황 보고 + 취소 / 예산 / 조기 종료 확인
     // ------------------------------------
-    private boolean accept(double curr, double next, double T, ThreadLocalRandom rnd) {
-        if (next < curr) return true;
-        double delta = next - curr;
-        return rnd.nextDouble() < Math.exp(-delta / T);
-    }
-
-    // ------------------------------------
-    // 🔹 평가 함수
-    // ------------------------------------
-    private double evaluate(Solution s) {
-        double score = 0.0;
-        int days = s.daysInMonth;
-        int empCount = s.empIds.size();
-
-        // 0️⃣ 목표 OFF 개수 (30일 기준 10일 → days * (10/30))
-        double offTargetPerPerson = days * (10.0 / 30.0);
-
-        // 1️⃣ 날짜별 커버리지
-        for (int d = 1; d <= days; d++) {
-            LocalDate date = LocalDate.of(s.year, s.month, d);
-            boolean wknd = isWeekendOrHoliday(date, s.holidays);
-            int[] req = COVERAGE.get(wknd);
-
-            int cD = 0, cE = 0, cN = 0;
-            for (int i = 0; i < empCount; i++) {
-                long t = s.grid[i][d];
-                if (t == DAY)   cD++;
-                if (t == EVE)   cE++;
-                if (t == NIGHT) cN++;
-            }
+    private Solution solve(int year, int month, List<Long> employeeIds, int[][] required,
+                           RequestPenalties penalties, MonthPrefix prefix, SolverEngine engine,
+                           SolveBudget budget, SolveListener listener) {
+        SchedulerProperties.Solver cfg = properties.getSolver();
+        int chainCount = Math.max(1, cfg.getChains());
+        int interval   = Math.max(1, cfg.getExchangeInterval());
+
+        long started  = System.nanoTime();
+        boolean anytime = budget.hasTimeLimit();
+        long deadline = anytime ? started + budget.timeLimit().toNanos() : Long.MAX_VALUE;
+        SplittableRandom root = newRandom();
+        List<SearchChain> chains = new ArrayList<>(chainCount);
+        for (int c = 0; c < chainCount; c++) {
+            SplittableRandom rnd = root.split();
+            Solution init = InitialSchedule.create(year, month, employeeIds, required, penalties, prefix, rnd);
+            chains.add(engine.newChain(init, c, rnd));
+        }
 
-            if (cD < req[0]) score += (req[0] - cD) * W_COVERAGE;
-            if (cE < req[1]) score += (req[1] - cE) * W_COVERAGE;
-            if (cN < req[2]) score += (req[2] - cN) * W_COVERAGE;
+        List<Callable<Void>> steps = new ArrayList<>(chainCount);
+        for (SearchChain chain : chains) {
+            steps.add(() -> {
+                chain.run(interval);
+                return null;
+            });
         }
 
-        // 2️⃣ 직원별 OFF 개수 / 연속 근무
-        List<Integer> offCounts = new ArrayList<>();
-        for (int i = 0; i < empCount; i++) {
-            int offCnt     = 0;
-            int workStreak = 0;
-
-            for (int d = 1; d <= days; d++) {
-                long t = s.grid[i][d];
-                if (t == OFF) {
-                    offCnt++;
-                    workStreak = 0;
-                } else {
-                    workStreak++;
-                    if (workStreak > MAX_CONSEC_WORK_DAYS) {
-                        score += (workStreak - MAX_CONSEC_WORK_DAYS) * W_CONSEC;
-                    }
+        while (anytime || chains.stream().anyMatch(c -> !c.isDone())) {
+            if (listener.isCancelled()) {
+                throw new CancellationException("근무표 생성이 취소되었습니다.");
+            }
+            if (anytime) {
+                // ⏱️ 시간이 남았으면 끝난 체인에 예산을 다시 줌 (SA 는 다시 데움)
+                for (SearchChain c : chains) {
+                    if (c.isDone()) c.reheat();
                 }
             }
 
-            // OFF 개수가 목표와 얼마나 다른지
-            score += Math.abs(offCnt - offTargetPerPerson) * W_OFF_COUNT;
-            offCounts.add(offCnt);
-        }
+            SearchChain leader;
+            if (chainCount == 1) {
+                leader = chains.get(0);
+                leader.run(interval);
+            } else {
+                invokeAll(steps);
+
+                // 🔁 가장 나쁜 체인이 전역 best 로 갈아탐
+                leader = bestChain(chains);
+                SearchChain worst = chains.stream()
+                        .filter(c -> !c.isDone())
+                        .max(Comparator.comparingDouble(SearchChain::currentScore))
+                        .orElse(leader);
+                if (worst != leader) {
+                    worst.adopt(leader.best(), leader.bestScore());
+                }
+            }
 
-        // OFF 균등 분배(표준편차)
-        score += stdDev(offCounts) * W_OFF_STD;
+            int iteration = chains.stream().mapToInt(SearchChain::iterations).max().orElse(0);
+            long now = System.nanoTime();
+            listener.onProgress(new SolveProgress(iteration, leader.maxIterations(),
+                    leader.temperature(), leader.currentScore(), leader.bestScore(), leader.isBestFeasible(),
+                    (now - started) / 1_000_000));
 
-        // 3️⃣ 근무유형별 균등 분배(옵션)
-        score += (stdDev(countPerType(s, DAY))
-                + stdDev(countPerType(s, EVE))
-                + stdDev(countPerType(s, NIGHT))) * W_BALANCE;
+            // 예산 소진 / 목표 도달 / 조기 종료 → 지금까지의 best 로 끝냄
+            if (now >= deadline || budget.targetReached(leader.bestScore()) || listener.isStopRequested()) {
+                break;
+            }
+        }
+        metrics.recordSolve(System.nanoTime() - started, engine, chains);
+        return bestChain(chains).best();
+    }
 
-        return score;
+    // scheduler.solver.seed 가 있으면 고정 시드 (같은 입력 → 같은 근무표)
+    private SplittableRandom newRandom() {
+        Long seed = properties.getSolver().getSeed();
+        return seed != null ? new SplittableRandom(seed) : new SplittableRandom();
     }
 
-    private List<Integer> countPerType(Solution s, long type) {
-        List<Integer> result = new ArrayList<>();
-        for (int i = 0; i < s.empIds.size(); i++) {
-            int cnt = 0;
-            for (int d = 1; d <= s.daysInMonth; d++) {
-                if (s.grid[i][d] == type) cnt++;
+    private <T> List<T> invokeAll(List<Callable<T>> steps) {
+        try {
+            List<T> results = new ArrayList<>(steps.size());
+            for (var f : solverPool.invokeAll(steps)) {
+                results.add(f.get());
             }
-            result.add(cnt);
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("근무표 생성이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException c) throw c;
+            throw new IllegalStateException("근무표 생성 중 오류가 발생했습니다.", e.getCause());
         }
-        return result;
     }
 
-    private double stdDev(List<Integer> values) {
-        if (values.isEmpty()) return 0.0;
-        double mean = values.stream().mapToDouble(v -> v).average().orElse(0);
-        double variance = values.stream()
-                .mapToDouble(v -> (v - mean) * (v - mean))
-                .sum() / values.size();
-        return Math.sqrt(variance);
+    private SearchChain bestChain(List<SearchChain> chains) {
+        return chains.stream()
+                .min(Comparator.comparingDouble(SearchChain::bestScore))
+                .orElseThrow();
     }
 
-    // 내부 해 표현
-    private static class Solution {
-        final int year, month, daysInMonth;
-        final List<Long> empIds;
-        final Set<LocalDate> holidays;
-        final Map<Long, List<ShiftRequest>> requests;
-        long[][] grid;
-
-        Solution(int year, int month, List<Long> empIds, long[][] grid,
-                 Set<LocalDate> holidays, Map<Long, List<ShiftRequest>> requests) {
-            this.year        = year;
-            this.month       = month;
-            this.daysInMonth = YearMonth.of(year, month).lengthOfMonth();
-            this.empIds      = empIds;
-            this.grid        = grid;
-            this.holidays    = (holidays == null) ? Set.of() : holidays;
-            this.requests    = (requests == null) ? Map.of() : requests;
+    /**
+     * 마지막 안전장치: 혹시 남아 있는 N→D/E, N-O-D, E→D 패턴을 OFF로 강제로 끊어 줌
+     *  - 패턴이 끝나는 날(가장 이른 것부터)을 OFF 로 바꾸고 비트보드로 다시 확인
+     *  - OFF 로 바꾼 탓에 새로 생긴 N-O-D 도 다음 바퀴에서 처리됨
+     *  - 끝나는 날이 고정 셀이면 그 패턴 안의 앞쪽 날을 OFF 로 (바꿀 수 있는 날이 없으면 그대로 둠)
+     *  - 초기 해와 이웃 이동이 패턴을 만들지 않으므로 보통은 아무것도 안 바뀜 →
+     *    바뀐 게 있으면 커버리지가 깨졌을 수 있으니 경고 로그
+     */
+    private void fixHardPatterns(Solution s) {
+        double coverageBefore = s.breakdown().coverage();
+        int fixed = breakHardPatterns(s);
+        if (fixed > 0) {
+            log.warn("[경고] 후처리로 {}칸을 OFF 로 바꿨습니다 (커버리지 페널티 {} → {})",
+                    fixed, coverageBefore, s.breakdown().coverage());
         }
+    }
 
-        Solution copy() {
-            long[][] copy = new long[grid.length][grid[0].length];
-            for (int i = 0; i < grid.length; i++) {
-                System.arraycopy(grid[i], 0, copy[i], 0, grid[i].length);
+    // 남은 금지 패턴을 끝나는 날부터 OFF 로 끊고 바꾼 칸 수를 돌려줌
+    private static int breakHardPatterns(Solution s) {
+        int fixed = 0;
+        for (int i = 0; i < s.empIds.size(); i++) {
+            long v, skip = 0;
+            while ((v = s.violations(i) & ~skip) != 0) {
+                int d = Long.numberOfTrailingZeros(v);
+                int target = breakableDay(s, i, d);
+                if (target < 0) {
+                    skip |= 1L << d;
+                    continue;
+                }
+                s.set(i, target, OFF);
+                fixed++;
             }
-            return new Solution(year, month, empIds, copy, holidays, requests);
         }
+        return fixed;
+    }
+
+    // d 에 끝나는 패턴 안에서 OFF 로 바꿔 끊을 수 있는 가장 늦은 날 (없으면 -1)
+    //  - N→D/E, E→D 는 d-1..d 만, N-O-D 는 d-2..d (이전 달 날짜는 못 바꿈)
+    private static int breakableDay(Solution s, int emp, int d) {
+        String pattern = HardRules.forbiddenPattern(s.typeAt(emp, d - 2), s.typeAt(emp, d - 1), s.get(emp, d));
+        if (pattern == null) return -1;
+        int first = Math.max(1, "N-O-D".equals(pattern) ? d - 2 : d - 1);
+        for (int day = d; day >= first; day--) {
+            if (!s.isLocked(emp, day) && s.get(emp, day) != OFF) return day;
+        }
+        return -1;
     }
 }
@@ -0,0 +1,45 @@
+package com.hospital.schedule.service;
+
+import com.hospital.schedule.dtos.ShiftPreferenceDto;
+import com.hospital.schedule.mapper.ShiftPreferenceMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class ShiftPreferenceService {
+
+    private final ShiftPreferenceMapper shiftPreferenceMapper;
+
+    public List<ShiftPreferenceDto> getByMonth(int year, int month) {
+        YearMonth ym = YearMonth.of(year, month);
+        return shiftPreferenceMapper.findByRange(ym.atDay(1), ym.plusMonths(1).atDay(1));
+    }
+
+    /**
+     * 솔버 입력용 — 한 달 요청을 한 쿼리로 읽어 직원별로 묶음
+     */
+    public Map<Long, List<SchedulingService.ShiftRequest>> getRequests(int year, int month) {
+        Map<Long, List<SchedulingService.ShiftRequest>> requests = new HashMap<>();
+        for (ShiftPreferenceDto p : getByMonth(year, month)) {
+            requests.computeIfAbsent(p.getEmployeeId(), k -> new ArrayList<>())
+                    .add(new SchedulingService.ShiftRequest(
+                            p.getEmployeeId(), p.getRequestDate(), p.getShiftTypeId(), p.isAvoid()));
+        }
+        return requests;
+    }
+
+    public void add(ShiftPreferenceDto dto) {
+        shiftPreferenceMapper.insert(dto);
+    }
+
+    public void delete(Long id) {
+        shiftPreferenceMapper.delete(id);
+    }
+}
@@ -1,73 +1,337 @@
 package com.hospital.schedule.service;
 
+import com.hospital.schedule.dtos.PageDto;
+import com.hospital.schedule.dtos.ShiftBulkEditDto;
+import com.hospital.schedule.dtos.ShiftBulkResultDto;
 import com.hospital.schedule.dtos.ShiftDto;
 import com.hospital.schedule.dtos.ShiftRequestDto;
 import com.hospital.schedule.mapper.ShiftMapper;
 import com.hospital.schedule.dtos.ShiftUpdateDto;
+import com.hospital.schedule.solver.HardRules;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class ShiftService {
 
     private final ShiftMapper shiftMapper;
+    private final RosterCache rosterCache;
+    private final WorkloadStatsService workloadStats;
+    private final MonthLocks monthLocks;
     
     private final long DAY = 1L;
     private final long EVE = 2L;
     private final long NIGHT = 3L;
     private final long OFF = 4L;
 
-    // ✅ 기존 기능 유지
-    public List<ShiftDto> getAll() {
-        return shiftMapper.findAll();
+    // 다건 INSERT 한 번에 넣을 행 수 (패킷/파라미터 한도 안쪽)
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * 전체 근무 키셋 페이지 — (work_date, employee_id) 순
+     *  - size + 1 건을 읽어서 다음 페이지 존재 여부를 판단
+     */
+    @Cacheable(cacheNames = RosterCache.SHIFT_PAGES, key = "#cursor + ':' + #size")
+    public PageDto<ShiftDto> getPage(String cursor, Integer size) {
+        int limit = PageDto.clampSize(size);
+        LocalDate afterDate = null;
+        Long afterEmployeeId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = PageDto.decodeCursor(cursor).split(":");
+            if (parts.length != 2) throw new IllegalArgumentException("잘못된 cursor 입니다.");
+            afterDate = parseCursorDate(parts[0]);
+            afterEmployeeId = PageDto.parseCursorId(parts[1]);
+        }
+
+        List<ShiftDto> rows = shiftMapper.findPage(afterDate, afterEmployeeId, limit + 1);
+        return toPage(rows, limit, last -> last.getWorkDate() + ":" + last.getEmployeeId());
+    }
+
+    /**
+     * 직원별 근무 키셋 페이지 — work_date 순
+     */
+    @Cacheable(cacheNames = RosterCache.SHIFTS_BY_EMPLOYEE, key = "#employeeId + ':' + #cursor + ':' + #size")
+    public PageDto<ShiftDto> getByEmployee(Long employeeId, String cursor, Integer size) {
+        int limit = PageDto.clampSize(size);
+        LocalDate afterDate = (cursor == null || cursor.isBlank()) ? null : parseCursorDate(PageDto.decodeCursor(cursor));
+
+        List<ShiftDto> rows = shiftMapper.findByEmployeePage(employeeId, afterDate, limit + 1);
+        return toPage(rows, limit, last -> last.getWorkDate().toString());
+    }
+
+    @Cacheable(cacheNames = RosterCache.SHIFTS_BY_MONTH, key = "T(com.hospital.schedule.service.RosterCache).monthKey(#year, #month)")
+    public List<ShiftDto> getByMonth(int year, int month) {
+        YearMonth ym = YearMonth.of(year, month);
+        return shiftMapper.findByRange(ym.atDay(1), ym.plusMonths(1).atDay(1));
     }
 
-    public List<ShiftDto> getByEmployee(Long employeeId) {
-        return shiftMapper.findByEmployee(employeeId);
+    /**
+     * 기간 조회 — end 는 포함하지 않음 [start, end), 내보내기와 같은 최대 기간
+     */
+    public List<ShiftDto> getByRange(LocalDate start, LocalDate end) {
+        RosterExportService.checkRange(start, end);
+        return shiftMapper.findByRange(start, end);
+    }
+
+    /**
+     * 기간 내 근무 건수 — 행을 읽지 않고 COUNT 만 (큰 기간을 받기 전에 크기 확인용)
+     */
+    public int countByRange(LocalDate start, LocalDate end) {
+        RosterExportService.checkRange(start, end);
+        return shiftMapper.countByRange(start, end);
     }
 
+    private PageDto<ShiftDto> toPage(List<ShiftDto> rows, int limit,
+                                     Function<ShiftDto, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new PageDto<>(rows, null);
+        }
+        List<ShiftDto> items = new ArrayList<>(rows.subList(0, limit));
+        return new PageDto<>(items, PageDto.encodeCursor(cursorOf.apply(items.get(limit - 1))));
+    }
+
+    private static LocalDate parseCursorDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다.", e);
+        }
+    }
+
+    // 화면에서 직접 넣은 근무 → 수기 입력으로 고정
+    @Transactional
     public void add(ShiftRequestDto dto) {
+        dto.setManual(true);
+        monthLocks.lockForEdit(List.of(YearMonth.from(dto.getWorkDate())));
         shiftMapper.insert(dto);
+        workloadStats.refresh(dto.getEmployeeId(), dto.getWorkDate());
+        rosterCache.evictShift(dto.getEmployeeId(), dto.getWorkDate());
     }
 
+    @Transactional
     public void delete(Long id) {
+        ShiftDto existing = shiftMapper.findById(id);
+        if (existing != null) {
+            monthLocks.lockForEdit(List.of(YearMonth.from(existing.getWorkDate())));
+        }
         shiftMapper.delete(id);
+        if (existing != null) {
+            workloadStats.refresh(existing.getEmployeeId(), existing.getWorkDate());
+            rosterCache.evictShift(existing.getEmployeeId(), existing.getWorkDate());
+        }
+    }
+
+    /**
+     * 한 달 근무표 통째로 교체 (삭제 + 다건 등록 + 월 통계를 한 트랜잭션으로)
+     *  - 커밋 전까지 다른 조회는 이전 근무표를 그대로 봄
+     */
+    @Transactional
+    public void replaceMonth(int year, int month, List<ShiftRequestDto> rows) {
+        YearMonth ym = YearMonth.of(year, month);
+        monthLocks.lockForEdit(List.of(ym));
+        shiftMapper.deleteByRange(ym.atDay(1), ym.plusMonths(1).atDay(1));
+        insertChunks(rows);
+        workloadStats.replaceMonth(ym, rows);
+        rosterCache.evictMonth(ym);
+    }
+
+    /**
+     * 여러 달 근무표를 한 트랜잭션으로 교체 (여러 달 한 번에 생성할 때)
+     */
+    @Transactional
+    public void replaceMonths(Map<YearMonth, List<ShiftRequestDto>> months) {
+        months.forEach((ym, rows) -> replaceMonth(ym.getYear(), ym.getMonthValue(), rows));
+    }
+
+    /**
+     * 다건 등록 (BATCH_SIZE 단위 multi-row INSERT, 한 트랜잭션) + 바뀐 (직원, 월) 통계 갱신
+     */
+    @Transactional
+    public void insertAll(List<ShiftRequestDto> rows) {
+        Set<YearMonth> months = new HashSet<>();
+        for (ShiftRequestDto row : rows) months.add(YearMonth.from(row.getWorkDate()));
+        monthLocks.lockForEdit(months);
+        insertChunks(rows);
+        workloadStats.refresh(rows);
+        rosterCache.evictShifts(rows);
+    }
+
+    private void insertChunks(List<ShiftRequestDto> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            shiftMapper.insertBatch(rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
     }
     
+    /**
+     * 근무 한 칸 수정 — 일괄 수정과 같은 경로 (앞/뒤 ±2일 패턴 모두 검사, 생성 중인 달이면 MonthBusyException)
+     *  - 이미 있는 근무만 바꿈 (없는 칸 / 없는 직원이면 IllegalArgumentException)
+     */
+    @Transactional
     public boolean updateShift(ShiftUpdateDto dto) {
-        Long empId = dto.getEmployeeId();
-        LocalDate date = LocalDate.parse(dto.getDate());
-        Long newType = dto.getShiftTypeId();
+        ShiftBulkEditDto bulk = new ShiftBulkEditDto();
+        bulk.getEdits().add(dto);
+        return bulkUpdate(bulk).isSuccess();
+    }
+
+    /**
+     * ✅ 근무 일괄 수정 / 맞바꾸기 (한 트랜잭션)
+     *  1) 바뀌는 (직원, 날짜) 의 ±2일 창을 한 쿼리로 읽음
+     *  2) 메모리에서 edits → swaps 순서로 적용 — 수정만 하므로 대상 칸에 근무가 없으면 IllegalArgumentException
+     *     (빈 칸에 새로 넣는 것은 POST /api/shifts, 없는 직원도 여기서 걸러져 FK 오류까지 가지 않음)
+     *  3) 바뀐 날이 포함된 모든 3일 패턴(앞/뒤 양방향)을 검사 — 하나라도 걸리면 저장 안 함
+     *  4) 실제로 바뀐 셀만 다건 저장 (모두 있는 칸이라 upsert 가 곧 update, 수기 입력으로 표시 → 부분 수정 때 고정)
+     */
+    @Transactional
+    public ShiftBulkResultDto bulkUpdate(ShiftBulkEditDto dto) {
+        List<ShiftUpdateDto> edits = dto.getEdits() == null ? List.of() : dto.getEdits();
+        List<ShiftBulkEditDto.Swap> swaps = dto.getSwaps() == null ? List.of() : dto.getSwaps();
+
+        // 1️⃣ 대상 직원 / 날짜 범위
+        Set<Long> employeeIds = new HashSet<>();
+        LocalDate min = null, max = null;
+        List<LocalDate> editDates = new ArrayList<>(edits.size());
+        List<LocalDate> swapDates = new ArrayList<>(swaps.size());
+        for (ShiftUpdateDto e : edits) {
+            if (e.getShiftTypeId() == null || e.getShiftTypeId() < DAY || e.getShiftTypeId() > OFF) {
+                throw new IllegalArgumentException("shiftTypeId 는 1~4 여야 합니다.");
+            }
+            LocalDate date = parseDate(e.getDate());
+            editDates.add(date);
+            employeeIds.add(e.getEmployeeId());
+            min = (min == null || date.isBefore(min)) ? date : min;
+            max = (max == null || date.isAfter(max)) ? date : max;
+        }
+        for (ShiftBulkEditDto.Swap sw : swaps) {
+            if (Objects.equals(sw.getEmployeeA(), sw.getEmployeeB())) {
+                throw new IllegalArgumentException("같은 직원끼리는 맞바꿀 수 없습니다.");
+            }
+            LocalDate date = parseDate(sw.getDate());
+            swapDates.add(date);
+            employeeIds.add(sw.getEmployeeA());
+            employeeIds.add(sw.getEmployeeB());
+            min = (min == null || date.isBefore(min)) ? date : min;
+            max = (max == null || date.isAfter(max)) ? date : max;
+        }
+        if (min == null) {
+            return new ShiftBulkResultDto(true, 0, List.of());
+        }
 
-        Long yesterday = shiftMapper.findShift(empId, date.minusDays(1));
-        Long twoDaysAgo = shiftMapper.findShift(empId, date.minusDays(2));
+        // 생성 중인 달이면 MonthBusyException — 읽기부터 저장까지 그 달을 잡고 있음
+        Set<YearMonth> months = new HashSet<>();
+        for (YearMonth ym = YearMonth.from(min); !ym.isAfter(YearMonth.from(max)); ym = ym.plusMonths(1)) {
+            months.add(ym);
+        }
+        monthLocks.lockForEdit(months);
 
-        // N → D/E 금지
-        if (yesterday != null && yesterday == NIGHT &&
-                (newType == DAY || newType == EVE)) {
-            return false;
+        // 2️⃣ ±2일 창 한 번에 읽기 → (직원, 날짜) → 타입
+        Map<Long, Map<LocalDate, Long>> grid = new HashMap<>();
+        for (ShiftDto row : shiftMapper.findWindows(employeeIds, min.minusDays(2), max.plusDays(3))) {
+            grid.computeIfAbsent(row.getEmployeeId(), k -> new HashMap<>())
+                    .put(row.getWorkDate(), row.getShiftTypeId());
         }
+        Map<Long, Map<LocalDate, Long>> original = new HashMap<>();
+        grid.forEach((emp, days) -> original.put(emp, new HashMap<>(days)));
 
-        // N - O - D 금지
-        if (twoDaysAgo != null && yesterday != null) {
-            if (twoDaysAgo == NIGHT && yesterday == OFF && newType == DAY) {
-                return false;
+        // 3️⃣ 메모리에서 적용 (edits → swaps)
+        Map<Long, Set<LocalDate>> touched = new HashMap<>();
+        for (int i = 0; i < edits.size(); i++) {
+            ShiftUpdateDto e = edits.get(i);
+            LocalDate date = editDates.get(i);
+            if (typeAt(original, e.getEmployeeId(), date) == null) {
+                throw new IllegalArgumentException(
+                        "수정할 근무가 없습니다. (직원 " + e.getEmployeeId() + ", " + date + ")");
             }
+            put(grid, touched, e.getEmployeeId(), date, e.getShiftTypeId());
+        }
+        for (int i = 0; i < swaps.size(); i++) {
+            ShiftBulkEditDto.Swap sw = swaps.get(i);
+            LocalDate date = swapDates.get(i);
+            Long a = typeAt(grid, sw.getEmployeeA(), date);
+            Long b = typeAt(grid, sw.getEmployeeB(), date);
+            if (a == null || b == null) {
+                throw new IllegalArgumentException("맞바꿀 근무가 없습니다. (" + date + ")");
+            }
+            put(grid, touched, sw.getEmployeeA(), date, b);
+            put(grid, touched, sw.getEmployeeB(), date, a);
         }
 
-        // E → D 금지
-        if (yesterday != null && yesterday == EVE && newType == DAY) {
-            return false;
+        // 4️⃣ 바뀐 날 d 를 포함하는 패턴 = d, d+1, d+2 에 끝나는 3일 창
+        List<ShiftBulkResultDto.Violation> violations = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        touched.forEach((emp, dates) -> {
+            for (LocalDate date : dates) {
+                for (int k = 0; k <= 2; k++) {
+                    LocalDate end = date.plusDays(k);
+                    String pattern = HardRules.forbiddenPattern(
+                            orZero(typeAt(grid, emp, end.minusDays(2))),
+                            orZero(typeAt(grid, emp, end.minusDays(1))),
+                            orZero(typeAt(grid, emp, end)));
+                    if (pattern != null && seen.add(emp + ":" + end)) {
+                        violations.add(new ShiftBulkResultDto.Violation(emp, end, pattern));
+                    }
+                }
+            }
+        });
+        if (!violations.isEmpty()) {
+            return new ShiftBulkResultDto(false, 0, violations);
         }
 
-        // 문제 없으면 업데이트
-        shiftMapper.updateShift(dto.getEmployeeId(), date, newType);
-        return true;
+        // 5️⃣ 실제로 바뀐 셀만 다건 upsert
+        List<ShiftRequestDto> rows = new ArrayList<>();
+        touched.forEach((emp, dates) -> {
+            for (LocalDate date : dates) {
+                Long type = typeAt(grid, emp, date);
+                if (Objects.equals(type, typeAt(original, emp, date))) continue;
+                ShiftRequestDto row = new ShiftRequestDto();
+                row.setEmployeeId(emp);
+                row.setShiftTypeId(type);
+                row.setWorkDate(date);
+                row.setManual(true);
+                rows.add(row);
+            }
+        });
+        if (!rows.isEmpty()) {
+            insertAll(rows);
+        }
+        return new ShiftBulkResultDto(true, rows.size(), List.of());
+    }
+
+    private static void put(Map<Long, Map<LocalDate, Long>> grid, Map<Long, Set<LocalDate>> touched,
+                            Long emp, LocalDate date, Long type) {
+        grid.computeIfAbsent(emp, k -> new HashMap<>()).put(date, type);
+        touched.computeIfAbsent(emp, k -> new HashSet<>()).add(date);
+    }
+
+    private static Long typeAt(Map<Long, Map<LocalDate, Long>> grid, Long emp, LocalDate date) {
+        Map<LocalDate, Long> days = grid.get(emp);
+        return days == null ? null : days.get(date);
+    }
+
+    private static long orZero(Long type) {
+        return type == null ? 0L : type;
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("잘못된 날짜입니다: " + value, e);
+        }
     }
 
     /**
@@ -76,6 +340,7 @@ public class ShiftService {
      * - 직원마다 시작 패턴이 다르게 되어 겹치지 않음
      * - OFF는 DB 저장 생략 가능 (원하면 주석 제거)
      */
+    @Transactional
     public void autoAssign(List<Long> employeeIds, Long shiftTypeId, LocalDate start, int days) {
         if (employeeIds == null || employeeIds.isEmpty()) {
             throw new IllegalArgumentException("employeeIds가 비어 있습니다.");
@@ -109,9 +374,7 @@ public class ShiftService {
             }
         }
 
-        // ✅ 인서트 실행
-        for (ShiftRequestDto dto : bulk) {
-            shiftMapper.insert(dto);
-        }
+        // ✅ 인서트 실행 (청크 단위 다건 INSERT)
+        insertAll(bulk);
     }
 }
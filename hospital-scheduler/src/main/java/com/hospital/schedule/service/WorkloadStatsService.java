@@ -0,0 +1,177 @@
+package com.hospital.schedule.service;
+
+import com.hospital.schedule.dtos.ShiftDto;
+import com.hospital.schedule.dtos.ShiftRequestDto;
+import com.hospital.schedule.dtos.WorkloadStatsDto;
+import com.hospital.schedule.mapper.ShiftMapper;
+import com.hospital.schedule.mapper.WorkloadStatsMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 직원 × 월 근무 통계 (employee_monthly_stats)
+ *
+ * 근무를 쓰는 ShiftService 의 모든 경로가 같은 트랜잭션 안에서 여기를 부른다.
+ *  - 일부 셀 변경(insert / 수정 / 삭제 / 다건 등록) : 바뀐 (직원, 월) 만 그 달 근무(최대 31행)를 다시 읽어 계산
+ *  - 월 전체 교체 : 저장할 행이 곧 그 달 전체이므로 DB 를 다시 읽지 않고 메모리에서 계산
+ * 가장 긴 연속 근무는 개수처럼 +1/-1 로 맞출 수 없어서, 변경분만큼 더하는 대신 (직원, 월) 단위로 다시 센다.
+ * 연속 근무는 달 안에서만 센다 — 달을 넘는 연속(1월 말 ~ 2월 초)은 각 달에 나뉘어 들어가므로
+ * 연간 조회의 longestStreak 는 "달별 최댓값" 이지 연중 가장 긴 연속이 아니다.
+ *
+ * 조회는 직원 수(× 개월 수) 만큼의 행만 읽는다 — 근무 원본(직원 × 일 × 월)을 훑지 않음.
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkloadStatsService {
+
+    private static final int DAY   = 1;
+    private static final int EVE   = 2;
+    private static final int NIGHT = 3;
+    private static final int OFF   = 4;
+
+    // 다건 INSERT 한 번에 넣을 행 수
+    private static final int BATCH_SIZE = 500;
+
+    private final WorkloadStatsMapper statsMapper;
+    private final ShiftMapper shiftMapper;
+    private final MonthLocks monthLocks;
+    private final RosterCache rosterCache;
+
+    // ------------------------------------
+    // 🔹 조회
+    // ------------------------------------
+    public List<WorkloadStatsDto> getByMonth(int year, int month) {
+        return statsMapper.findByMonth(YearMonth.of(year, month).atDay(1));
+    }
+
+    /**
+     * 연간 합계 — 직원별 (employeeId 가 있으면 그 직원만)
+     *  - 개수는 달별 합, longestStreak 는 달별 최댓값 (달 경계를 넘는 연속은 이어 세지 않음)
+     */
+    public List<WorkloadStatsDto> getByYear(int year, Long employeeId) {
+        return statsMapper.sumByRange(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1), employeeId);
+    }
+
+    // ------------------------------------
+    // 🔹 쓰기 경로에서 호출 (호출한 쪽 트랜잭션에 합류)
+    // ------------------------------------
+
+    /**
+     * 근무 일부가 바뀐 뒤 — 바뀐 (직원, 월) 통계만 다시 계산
+     */
+    @Transactional
+    public void refresh(Collection<ShiftRequestDto> rows) {
+        Map<YearMonth, Set<Long>> touched = new TreeMap<>();
+        for (ShiftRequestDto row : rows) {
+            touched.computeIfAbsent(YearMonth.from(row.getWorkDate()), k -> new HashSet<>())
+                    .add(row.getEmployeeId());
+        }
+        touched.forEach(this::refresh);
+    }
+
+    @Transactional
+    public void refresh(Long employeeId, LocalDate date) {
+        refresh(YearMonth.from(date), Set.of(employeeId));
+    }
+
+    private void refresh(YearMonth ym, Set<Long> employeeIds) {
+        LocalDate start = ym.atDay(1);
+        Map<Long, Tally> tallies = new HashMap<>();
+        for (ShiftDto row : shiftMapper.findWindows(employeeIds, start, ym.plusMonths(1).atDay(1))) {
+            tallies.computeIfAbsent(row.getEmployeeId(), k -> new Tally(ym))
+                    .put(row.getWorkDate(), row.getShiftTypeId());
+        }
+
+        // 그 달 근무가 다 지워진 직원은 행 삭제
+        Set<Long> emptied = new HashSet<>(employeeIds);
+        emptied.removeAll(tallies.keySet());
+        if (!emptied.isEmpty()) {
+            statsMapper.deleteByEmployees(start, emptied);
+        }
+        upsertAll(toRows(ym, tallies));
+    }
+
+    /**
+     * 월 전체 교체 — rows 가 곧 그 달의 전체 근무
+     */
+    @Transactional
+    public void replaceMonth(YearMonth ym, List<ShiftRequestDto> rows) {
+        Map<Long, Tally> tallies = new HashMap<>();
+        for (ShiftRequestDto row : rows) {
+            tallies.computeIfAbsent(row.getEmployeeId(), k -> new Tally(ym))
+                    .put(row.getWorkDate(), row.getShiftTypeId());
+        }
+        statsMapper.deleteByMonth(ym.atDay(1));
+        upsertAll(toRows(ym, tallies));
+    }
+
+    /**
+     * 근무 원본에서 한 달 통계를 처음부터 다시 만듦 (기존 DB 채우기 / 점검용)
+     *  - 근무 쓰기와 같은 월 잠금 (생성 중인 달이면 MonthBusyException) + 그 달 ETag 갱신
+     */
+    @Transactional
+    public int rebuildMonth(int year, int month) {
+        YearMonth ym = YearMonth.of(year, month);
+        monthLocks.lockForEdit(List.of(ym));
+        Map<Long, Tally> tallies = new HashMap<>();
+        for (ShiftDto row : shiftMapper.findByRange(ym.atDay(1), ym.plusMonths(1).atDay(1))) {
+            tallies.computeIfAbsent(row.getEmployeeId(), k -> new Tally(ym))
+                    .put(row.getWorkDate(), row.getShiftTypeId());
+        }
+        statsMapper.deleteByMonth(ym.atDay(1));
+        List<WorkloadStatsDto> stats = toRows(ym, tallies);
+        upsertAll(stats);
+        rosterCache.evictMonth(ym);
+        return stats.size();
+    }
+
+    private void upsertAll(List<WorkloadStatsDto> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            statsMapper.upsertBatch(rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+
+    private static List<WorkloadStatsDto> toRows(YearMonth ym, Map<Long, Tally> tallies) {
+        List<WorkloadStatsDto> rows = new ArrayList<>(tallies.size());
+        tallies.forEach((emp, tally) -> rows.add(tally.toDto(emp, ym)));
+        return rows;
+    }
+
+    // 직원 한 명의 한 달 근무 (일 → 타입, 0 = 근무 행 없음)
+    private static final class Tally {
+        private final int[] types;
+
+        Tally(YearMonth ym) {
+            this.types = new int[ym.lengthOfMonth() + 1];
+        }
+
+        void put(LocalDate date, Long type) {
+            types[date.getDayOfMonth()] = type == null ? 0 : type.intValue();
+        }
+
+        WorkloadStatsDto toDto(Long employeeId, YearMonth ym) {
+            int[] count = new int[OFF + 1];
+            int streak = 0, longest = 0;
+            for (int d = 1; d < types.length; d++) {
+                int t = types[d];
+                if (t >= DAY && t <= OFF) count[t]++;
+                streak = (t >= DAY && t <= NIGHT) ? streak + 1 : 0;
+                longest = Math.max(longest, streak);
+            }
+            return new WorkloadStatsDto(employeeId, null, ym.atDay(1),
+                    count[DAY], count[EVE], count[NIGHT], count[OFF], longest);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.hospital.schedule.solver;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Simulated Annealing 체인 하나
+ *
+ * 나빠지는 이동도 exp(-Δ/T) 확률로 받아들이고, iteration 마다 온도를 식힌다.
+ * MAX_NO_IMPROVEMENT 동안 best 가 안 바뀌면 시작 온도로 다시 데운다.
+ *
+ * repair() 체인은 기존 근무표에서 출발해 낮은 온도로 짧게, 지정한 날짜만 건드린다.
+ * 어느 쪽이든 Solution 에 고정(lock)된 셀은 바꾸지 않는다.
+ */
+public class AnnealingChain extends SearchChain {
+
+    // 🔥 시뮬레이티드 어닐링 파라미터
+    public static final double INITIAL_T          = 120.0;
+    public static final double COOLING_RATE       = 0.985;
+    public static final double MIN_T              = 0.1;
+    public static final int    MAX_ITER           = 10_000;
+    public static final int    MAX_NO_IMPROVEMENT = 1_200;
+
+    // 병렬 체인 c 의 시작 온도 = INITIAL_T * (1 + c * TEMP_LADDER_STEP)
+    public static final double TEMP_LADDER_STEP = 0.25;
+
+    // 🩹 부분 수정(repair) 파라미터 — 이미 괜찮은 해에서 출발하므로 낮은 온도로 짧게
+    public static final double REPAIR_T    = 1.0;
+    public static final int    REPAIR_ITER = 4_000;
+
+    private final double initialT;
+    private final double coolingRate;
+
+    private double temp;
+
+    public AnnealingChain(Solution initial, double initialT, RandomGenerator rnd) {
+        this(initial, initialT, COOLING_RATE, MAX_ITER, MoveGenerator.allDays(initial.daysInMonth), rnd);
+    }
+
+    private AnnealingChain(Solution initial, double initialT, double coolingRate, int maxIter,
+                           int[] days, RandomGenerator rnd) {
+        super(initial, days, maxIter, rnd);
+        this.initialT    = initialT;
+        this.coolingRate = coolingRate;
+        this.temp        = initialT;
+    }
+
+    /**
+     * 부분 수정용 체인 — days 에 속한 날짜만 바꾸고, REPAIR_ITER 에 맞춰 MIN_T 까지 식힌다
+     */
+    public static AnnealingChain repair(Solution initial, int[] days, RandomGenerator rnd) {
+        double cooling = Math.pow(MIN_T / REPAIR_T, 1.0 / REPAIR_ITER);
+        return new AnnealingChain(initial, REPAIR_T, cooling, REPAIR_ITER, days, rnd);
+    }
+
+    @Override
+    public boolean isDone() {
+        return super.isDone() || temp <= MIN_T;
+    }
+
+    // ------------------------------------
+    // 🔹 SA 수용 함수
+    // ------------------------------------
+    @Override
+    protected boolean accept(double curr, double next) {
+        if (next < curr) return true;
+        double delta = next - curr;
+        return rnd.nextDouble() < Math.exp(-delta / temp);
+    }
+
+    @Override
+    protected void afterIteration() {
+        temp *= coolingRate;
+
+        if (noImprove > MAX_NO_IMPROVEMENT) {
+            temp      = initialT;
+            noImprove = 0;
+            countReheat();
+        }
+    }
+
+    @Override
+    protected void onRestart() {
+        temp = initialT;
+    }
+
+    @Override
+    public double temperature() {
+        return temp;
+    }
+}
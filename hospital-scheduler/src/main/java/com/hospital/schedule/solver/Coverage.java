@@ -0,0 +1,52 @@
+package com.hospital.schedule.solver;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Set;
+
+/**
+ * 날짜별 D/E/N 최소 인원표
+ *
+ * 공휴일 달력 + 날짜 유형별 규칙(CoverageRules)을 솔브마다 한 번만 int[days + 1][3] 로 펼쳐 두고,
+ * SA 루프에서는 배열만 읽는다 (LocalDate/Set/Map 조회 없음).
+ */
+public final class Coverage {
+
+    private Coverage() {
+    }
+
+    /**
+     * 기본 규칙(CoverageRules.DEFAULT)으로 만든 인원표
+     */
+    public static int[][] requirements(int year, int month, Set<LocalDate> holidays) {
+        return requirements(year, month, holidays, CoverageRules.DEFAULT);
+    }
+
+    /**
+     * @return required[day][0:D, 1:E, 2:N] (1-based day, 행은 공유되므로 읽기 전용)
+     */
+    public static int[][] requirements(int year, int month, Set<LocalDate> holidays, CoverageRules rules) {
+        YearMonth ym = YearMonth.of(year, month);
+        int days = ym.lengthOfMonth();
+        int[] weekday  = rules.weekday();
+        int[] saturday = rules.saturday();
+        int[] sunday   = rules.sunday();
+        int[] holiday  = rules.holiday();
+
+        int[][] required = new int[days + 1][];
+        DayOfWeek dow = ym.atDay(1).getDayOfWeek();
+        for (int d = 1; d <= days; d++, dow = dow.plus(1)) {
+            if (holidays != null && holidays.contains(ym.atDay(d))) {
+                required[d] = holiday;
+            } else if (dow == DayOfWeek.SATURDAY) {
+                required[d] = saturday;
+            } else if (dow == DayOfWeek.SUNDAY) {
+                required[d] = sunday;
+            } else {
+                required[d] = weekday;
+            }
+        }
+        return required;
+    }
+}
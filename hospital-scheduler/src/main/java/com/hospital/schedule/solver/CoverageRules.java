@@ -0,0 +1,30 @@
+package com.hospital.schedule.solver;
+
+/**
+ * 날짜 유형별 D/E/N 최소 인원 ({D, E, N})
+ *
+ * 공휴일이 주말과 겹치면 holiday 가 우선한다.
+ */
+public record CoverageRules(int[] weekday, int[] saturday, int[] sunday, int[] holiday) {
+
+    // 기본값: 평일 D=3, E=2, N=2 / 주말·공휴일 D=2, E=2, N=2
+    public static final CoverageRules DEFAULT = new CoverageRules(
+            new int[]{3, 2, 2}, new int[]{2, 2, 2}, new int[]{2, 2, 2}, new int[]{2, 2, 2});
+
+    public CoverageRules {
+        weekday  = checked("weekday", weekday);
+        saturday = checked("saturday", saturday);
+        sunday   = checked("sunday", sunday);
+        holiday  = checked("holiday", holiday);
+    }
+
+    private static int[] checked(String name, int[] row) {
+        if (row == null || row.length != 3) {
+            throw new IllegalArgumentException("coverage." + name + " 는 D,E,N 세 값이어야 합니다.");
+        }
+        for (int v : row) {
+            if (v < 0) throw new IllegalArgumentException("coverage." + name + " 에 음수가 있습니다.");
+        }
+        return row.clone();
+    }
+}
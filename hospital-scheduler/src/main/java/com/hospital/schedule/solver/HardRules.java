@@ -0,0 +1,60 @@
+package com.hospital.schedule.solver;
+
+/**
+ * 하드 패턴(N→D/E, N-O-D, E→D) 판정
+ *
+ * 금지 패턴은 최대 3일(d-2, d-1, d) 길이이므로, 셀 하나를 바꿨을 때는
+ * 그 날짜를 포함하는 ±2일 창만 다시 보면 된다.
+ * 직원 한 명의 한 달은 근무 타입별 비트보드(bit d = d일)로 표현되므로
+ * 창 검사는 시프트/AND 몇 번으로 끝난다.
+ */
+public final class HardRules {
+
+    private static final long DAY   = 1L;
+    private static final long EVE   = 2L;
+    private static final long NIGHT = 3L;
+    private static final long OFF   = 4L;
+
+    private HardRules() {
+    }
+
+    /**
+     * prev2 → prev1 → today 순서로 근무했을 때 금지 패턴인지 (모르는 날은 0)
+     */
+    public static boolean isForbidden(long prev2, long prev1, long today) {
+        // N → D/E 금지
+        if (prev1 == NIGHT && (today == DAY || today == EVE)) return true;
+
+        // N-O-D 금지
+        if (prev2 == NIGHT && prev1 == OFF && today == DAY) return true;
+
+        // E → D 금지
+        return prev1 == EVE && today == DAY;
+    }
+
+    /**
+     * isForbidden 과 같은 판정이지만 어떤 패턴인지 이름을 돌려줌 (없으면 null, 오류 응답용)
+     */
+    public static String forbiddenPattern(long prev2, long prev1, long today) {
+        if (prev1 == NIGHT && (today == DAY || today == EVE)) return "N→D/E";
+        if (prev2 == NIGHT && prev1 == OFF && today == DAY) return "N-O-D";
+        if (prev1 == EVE && today == DAY) return "E→D";
+        return null;
+    }
+
+    /**
+     * 금지 패턴이 끝나는 날짜의 비트 집합 (타입별 비트보드 입력)
+     */
+    public static long violations(long day, long eve, long night, long off) {
+        return ((night << 1) & (day | eve))          // N → D/E
+                | ((eve << 1) & day)                 // E → D
+                | ((night << 2) & (off << 1) & day); // N-O-D
+    }
+
+    /**
+     * day 를 포함하는 패턴(끝나는 날이 day..day+2) 중 금지 패턴이 있는지
+     */
+    public static boolean violatesAround(long day, long eve, long night, long off, int d) {
+        return (violations(day, eve, night, off) & (0b111L << d)) != 0;
+    }
+}
@@ -0,0 +1,265 @@
+package com.hospital.schedule.solver;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * 초기 해 생성 (하드 패턴을 절대 만들지 않는 날짜별 구성 휴리스틱)
+ *
+ * 하루씩 앞에서부터 D/E/N 최소 인원을 채우고 나머지는 OFF.
+ *  1) 남는 후보가 가장 적은 근무부터 채움 (예: 어제 N/E 가 많아 D 후보가 적은 날은 D 먼저)
+ *  2) 후보 중에서는 비용이 낮은 사람부터
+ *     - 근무 목표(일수 - OFF 목표)를 날짜 비율로 나눈 것보다 많이 일한 사람은 뒤로 (OFF 균형)
+ *     - 그 근무를 많이 한 사람, 연속 근무가 긴 사람은 뒤로 (D/E/N 균형, 연속 근무)
+ *     - 어제와 같은 근무면 앞으로 — 특히 N 을 이어 주면 내일 D 를 못 서는 사람(N→OFF→D 금지)이 덜 생김
+ *  3) 엄격 단계(연속 근무 한도, 근무 요청, 남은 OFF 목표 지킴)로 못 채우면 완화 단계로 다시,
+ *     그래도 모자라면 어제 근무 하나를 OFF 인 사람과 맞바꿔 오늘 자리를 만드는 한 단계 되돌리기
+ *  4) 그래도 못 채우는 자리는 비워 둔다 (커버리지 페널티) — 금지 패턴으로 억지로 채우지 않음
+ *  5) 최소 인원을 채우고 남은 사람 중 근무 목표보다 뒤처진 사람은 여분 근무로 (OFF 목표 맞추기)
+ *
+ * 그래서 탐색은 처음부터 하드 제약을 만족하는 해를 다듬기만 하면 된다.
+ */
+public final class InitialSchedule {
+
+    private static final int DAY   = 1;
+    private static final int EVE   = 2;
+    private static final int NIGHT = 3;
+    private static final int OFF   = 4;
+
+    // 🏗️ 후보 비용 가중치 (낮을수록 먼저 배정)
+    private static final double C_AHEAD    = 4.0; // 근무 목표보다 앞서 나간 일수 1일당
+    private static final double C_TYPE     = 1.5; // 이번 달 같은 근무 1회당
+    private static final double C_STREAK   = 1.0; // 어제까지 연속 근무 1일당
+    private static final double C_CONTINUE = 2.0; // 어제와 같은 근무면 감점 (N 은 두 배)
+    private static final double C_NOISE    = 1.0; // 체인마다 다른 초기 해가 나오도록
+    private static final double C_EXTRA    = 2.0; // 오늘 그 근무에 이미 붙인 여분 인원 1명당
+
+    private InitialSchedule() {
+    }
+
+    public static Solution create(
+            int year, int month, List<Long> empIds, int[][] required, RandomGenerator rnd
+    ) {
+        return create(year, month, empIds, required, null, null, rnd);
+    }
+
+    public static Solution create(
+            int year, int month, List<Long> empIds, int[][] required, RequestPenalties requests,
+            MonthPrefix prefix, RandomGenerator rnd
+    ) {
+        Solution s = Solution.empty(year, month, empIds, required, requests, prefix);
+        Builder b = new Builder(s, rnd);
+        for (int d = 1; d <= s.daysInMonth; d++) {
+            b.fillDay(d);
+        }
+        return s;
+    }
+
+    private static final class Builder {
+        private final Solution s;
+        private final RandomGenerator rnd;
+        private final int E;
+        private final int days;
+        private final double workTarget; // 1인당 근무 목표 일수
+        private final int offGoal;       // 1인당 OFF 목표 (반올림)
+
+        private final int[] worked;      // [emp] 어제까지 근무 일수
+        private final int[] typeCount;   // [emp * 3 + t] 어제까지 D/E/N 개수
+        private final double[] cost;     // 후보 비용 버퍼
+
+        Builder(Solution s, RandomGenerator rnd) {
+            this.s    = s;
+            this.rnd  = rnd;
+            this.E    = s.empIds.size();
+            this.days = s.daysInMonth;
+            double offTarget = ScoreState.offTarget(days);
+            this.workTarget = days - offTarget;
+            this.offGoal    = (int) Math.round(offTarget);
+            this.worked     = new int[E];
+            this.typeCount  = new int[E * 3];
+            this.cost       = new double[E];
+        }
+
+        void fillDay(int d) {
+            int[] need = Arrays.copyOf(s.required[d], 3); // {D,E,N}
+
+            // 1️⃣ 남는 후보가 가장 적은 근무부터
+            for (int round = 0; round < 3; round++) {
+                int type = mostConstrained(d, need);
+                if (type == 0) break;
+                int idx = type - 1;
+
+                // 2️⃣ 엄격 → 완화 → 한 단계 되돌리기
+                need[idx] -= assign(d, type, need[idx], true);
+                if (need[idx] > 0) need[idx] -= assign(d, type, need[idx], false);
+                while (need[idx] > 0 && backtrack(d, type)) need[idx]--;
+                need[idx] = -1; // 처리 끝 (못 채운 자리는 커버리지 페널티로 남김)
+            }
+
+            // 3️⃣ 근무 목표보다 뒤처진 사람은 여분 근무, 나머지는 OFF
+            int[] extra = new int[3];
+            for (int i : shuffledIndexes(E, rnd)) {
+                if (s.get(i, d) != 0) continue;
+                int type = workTarget * d / days - worked[i] >= 0.5 ? extraShift(i, d, extra) : 0;
+                if (type == 0) {
+                    s.set(i, d, OFF);
+                } else {
+                    put(i, d, type);
+                    extra[type - 1]++;
+                }
+            }
+        }
+
+        // 여분 근무로 줄 근무 (엄격 단계 기준으로 줄 수 있는 것 중 비용 최소), 없으면 0
+        private int extraShift(int i, int d, int[] extra) {
+            int pick = 0;
+            double best = Double.POSITIVE_INFINITY;
+            for (int type = DAY; type <= NIGHT; type++) {
+                if (!canAssign(i, d, type, true)) continue;
+                double c = cost(i, d, type) + extra[type - 1] * C_EXTRA;
+                if (c < best) {
+                    best = c;
+                    pick = type;
+                }
+            }
+            return pick;
+        }
+
+        // ------------------------------------
+        // 🔹 아직 처리 안 한 근무 중 (엄격 단계 후보 수 - 필요 인원) 이 가장 작은 것, 없으면 0
+        // ------------------------------------
+        private int mostConstrained(int d, int[] need) {
+            int pick = 0;
+            int bestSlack = Integer.MAX_VALUE;
+            for (int type = DAY; type <= NIGHT; type++) {
+                if (need[type - 1] < 0) continue;
+                if (need[type - 1] == 0) {
+                    need[type - 1] = -1;
+                    continue;
+                }
+                int eligible = 0;
+                for (int i = 0; i < E; i++) {
+                    if (canAssign(i, d, type, true)) eligible++;
+                }
+                int slack = eligible - need[type - 1];
+                if (slack < bestSlack) {
+                    bestSlack = slack;
+                    pick = type;
+                }
+            }
+            return pick;
+        }
+
+        // ------------------------------------
+        // 🔹 후보 중 비용이 낮은 순서로 최대 need 명 배정, 배정한 인원 반환
+        // ------------------------------------
+        private int assign(int d, int type, int need, boolean strict) {
+            int n = 0;
+            for (int i = 0; i < E; i++) {
+                cost[i] = canAssign(i, d, type, strict) ? cost(i, d, type) : Double.NaN;
+            }
+            while (n < need) {
+                int pick = -1;
+                for (int i = 0; i < E; i++) {
+                    if (Double.isNaN(cost[i])) continue;
+                    if (pick < 0 || cost[i] < cost[pick]) pick = i;
+                }
+                if (pick < 0) break;
+                cost[pick] = Double.NaN;
+                put(pick, d, type);
+                n++;
+            }
+            return n;
+        }
+
+        private double cost(int i, int d, int type) {
+            double ahead = worked[i] - workTarget * (d - 1) / days;
+            double c = ahead * C_AHEAD
+                    + typeCount[i * 3 + type - 1] * C_TYPE
+                    + streak(i, d) * C_STREAK
+                    + rnd.nextDouble() * C_NOISE;
+            if (s.typeAt(i, d - 1) == type) c -= (type == NIGHT ? 2 : 1) * C_CONTINUE;
+            return c;
+        }
+
+        /**
+         * 오늘 (i, d) 에 type 을 줄 수 있는지
+         *  - 항상: 아직 비어 있음 + 금지 패턴 안 만듦
+         *  - 엄격: 연속 근무 한도, 근무 요청, 남은 날을 다 쉬어야 OFF 목표를 채우는 사람은 제외
+         */
+        private boolean canAssign(int i, int d, int type, boolean strict) {
+            if (s.get(i, d) != 0) return false;
+            if (HardRules.isForbidden(s.typeAt(i, d - 2), s.typeAt(i, d - 1), type)) return false;
+            if (!strict) return true;
+
+            if (streak(i, d) >= ScoreState.MAX_CONSEC_WORK_DAYS) return false;
+            if (s.requests != null && s.requests.at(i, d, type) > 0) return false;
+            int offSoFar = (d - 1) - worked[i];
+            return offGoal - offSoFar < days - d + 1;
+        }
+
+        // ------------------------------------
+        // 🔹 한 단계 되돌리기
+        //  어제 근무 y 때문에 오늘 type 을 못 받는 사람 i 를 찾아,
+        //  어제 OFF 였고 오늘 아직 비어 있는 사람 j 와 어제 근무를 맞바꾼 뒤 i 에게 오늘 type 배정
+        //  (어제 커버리지는 그대로, 둘 다 금지 패턴 / 연속 근무 한도 안 깸)
+        // ------------------------------------
+        private boolean backtrack(int d, int type) {
+            if (d < 2) return false;
+            int y = d - 1;
+            for (int i = 0; i < E; i++) {
+                int ty = s.get(i, y);
+                if (s.get(i, d) != 0 || ty == OFF || s.isLocked(i, y)) continue;
+                if (!HardRules.isForbidden(s.typeAt(i, d - 2), ty, type)) continue;   // 어제 근무 탓이 아님
+                if (HardRules.isForbidden(s.typeAt(i, d - 2), OFF, type)) continue;   // 어제 쉬어도 안 됨
+
+                for (int j = 0; j < E; j++) {
+                    if (j == i || s.get(j, y) != OFF || s.get(j, d) != 0 || s.isLocked(j, y)) continue;
+                    if (HardRules.isForbidden(s.typeAt(j, y - 2), s.typeAt(j, y - 1), ty)) continue;
+                    if (streak(j, y) + 1 > ScoreState.MAX_CONSEC_WORK_DAYS) continue;
+                    if (s.requests != null && s.requests.at(j, y, ty) > 0) continue;
+
+                    s.set(i, y, OFF);
+                    worked[i]--;
+                    typeCount[i * 3 + ty - 1]--;
+                    s.set(j, y, ty);
+                    worked[j]++;
+                    typeCount[j * 3 + ty - 1]++;
+                    put(i, d, type);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void put(int i, int d, int type) {
+            s.set(i, d, type);
+            worked[i]++;
+            typeCount[i * 3 + type - 1]++;
+        }
+
+        private static int[] shuffledIndexes(int n, RandomGenerator rnd) {
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) order[i] = i;
+            for (int i = n - 1; i > 0; i--) {
+                int j = rnd.nextInt(i + 1);
+                int tmp = order[i];
+                order[i] = order[j];
+                order[j] = tmp;
+            }
+            return order;
+        }
+
+        // d 전날까지 이어진 연속 근무 일수 (이전 달 prefix 포함, MAX_CONSEC_WORK_DAYS 까지만 셈)
+        private int streak(int i, int d) {
+            int n = 0;
+            for (int k = 1; k <= ScoreState.MAX_CONSEC_WORK_DAYS; k++) {
+                int t = s.typeAt(i, d - k);
+                if (t == 0 || t == OFF) break;
+                n++;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.hospital.schedule.solver;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Late Acceptance Hill Climbing 체인 하나
+ *
+ * 이동 후 점수가 현재 점수 이하이거나, historyLength iteration 전의 현재 점수 이하면 받아들인다.
+ * 온도/냉각 스케줄 대신 이력 길이 하나만 정하면 되고, 수용 판단에 난수를 쓰지 않는다.
+ * MAX_IDLE 동안 best 가 안 바뀌면 끝난 것으로 본다.
+ */
+public class LateAcceptanceChain extends SearchChain {
+
+    // 🕰️ LAHC 파라미터 — 병렬 체인 c 의 이력 길이 = HISTORY * (1 + c * HISTORY_LADDER_STEP)
+    public static final int    HISTORY             = 500;
+    public static final double HISTORY_LADDER_STEP = 0.5;
+    public static final int    MAX_ITER            = 100_000;
+    public static final int    MAX_IDLE            = 20_000;
+
+    private final double[] history; // [iteration % L] 그 iteration 이 끝났을 때의 현재 점수
+    private int slot;
+
+    public LateAcceptanceChain(Solution initial, int historyLength, RandomGenerator rnd) {
+        super(initial, MoveGenerator.allDays(initial.daysInMonth), MAX_ITER, rnd);
+        this.history = new double[Math.max(1, historyLength)];
+        Arrays.fill(history, currScore);
+    }
+
+    @Override
+    public boolean isDone() {
+        return super.isDone() || noImprove > MAX_IDLE;
+    }
+
+    @Override
+    protected boolean accept(double curr, double next) {
+        slot = iterations % history.length;
+        return next <= curr || next <= history[slot];
+    }
+
+    @Override
+    protected void afterIteration() {
+        history[slot] = currScore;
+    }
+
+    @Override
+    protected void onRestart() {
+        Arrays.fill(history, currScore);
+    }
+}
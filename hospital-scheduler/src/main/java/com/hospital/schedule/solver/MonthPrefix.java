@@ -0,0 +1,54 @@
+package com.hospital.schedule.solver;
+
+/**
+ * 이전 달 마지막 DAYS 일 근무 (고정, 읽기 전용)
+ *
+ * 금지 패턴은 최대 3일, 연속 근무 한도는 MAX_CONSEC_WORK_DAYS 일이므로
+ * 1일의 판정에 필요한 이전 날짜는 그 정도면 충분하다.
+ * 직원별 타입 비트보드로 보관하며 bit (DAYS - k) = 1일의 k 일 전 (bit DAYS-1 = 이전 달 말일).
+ * 이 배치라면 (이번 달 비트보드 << (DAYS - 1)) | prefix 로 두 구간을 한 long 에 이어 붙일 수 있다.
+ */
+public final class MonthPrefix {
+
+    public static final int DAYS = ScoreState.MAX_CONSEC_WORK_DAYS;
+
+    private final long[] masks; // [emp * 4 + (type - 1)]
+
+    public MonthPrefix(int empCount) {
+        this.masks = new long[empCount * Solution.TYPES];
+    }
+
+    /**
+     * emp 의 "1일의 daysBefore 일 전" 근무 (1 = 이전 달 말일 .. DAYS)
+     */
+    public void set(int emp, int daysBefore, int type) {
+        if (daysBefore < 1 || daysBefore > DAYS || type < 1 || type > Solution.TYPES) return;
+        long bit = 1L << (DAYS - daysBefore);
+        for (int t = 0; t < Solution.TYPES; t++) masks[emp * Solution.TYPES + t] &= ~bit;
+        masks[emp * Solution.TYPES + type - 1] |= bit;
+    }
+
+    /**
+     * emp 의 "1일의 daysBefore 일 전" 근무 타입 (모르면 0)
+     */
+    public int type(int emp, int daysBefore) {
+        if (daysBefore < 1 || daysBefore > DAYS) return 0;
+        long bit = 1L << (DAYS - daysBefore);
+        for (int t = 0; t < Solution.TYPES; t++) {
+            if ((masks[emp * Solution.TYPES + t] & bit) != 0) return t + 1;
+        }
+        return 0;
+    }
+
+    long mask(int emp, int type) {
+        return masks[emp * Solution.TYPES + type - 1];
+    }
+
+    /**
+     * D/E/N 근무한 날 비트 (OFF / 모르는 날 제외)
+     */
+    long work(int emp) {
+        int b = emp * Solution.TYPES;
+        return masks[b] | masks[b + 1] | masks[b + 2];
+    }
+}
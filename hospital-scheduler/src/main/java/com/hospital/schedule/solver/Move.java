@@ -0,0 +1,79 @@
+package com.hospital.schedule.solver;
+
+/**
+ * 제자리(in-place) 이웃 이동
+ *
+ * SA 루프에서 Solution 을 복사하지 않고 apply → 평가 → (거절 시) undo 하도록
+ * 바뀐 셀과 이전 값을 기억한다. 인스턴스 하나를 계속 재사용한다.
+ */
+public final class Move {
+
+    private boolean swap;
+    private int a, b, day;
+    private int oldA, oldB, newA;
+
+    /** 같은 날짜에 두 사람 근무 교환 */
+    public Move swap(int a, int b, int day, int typeA, int typeB) {
+        this.swap = true;
+        this.a    = a;
+        this.b    = b;
+        this.day  = day;
+        this.oldA = typeA;
+        this.oldB = typeB;
+        this.newA = typeB;
+        return this;
+    }
+
+    /** 한 사람의 특정 날짜 근무 변경 */
+    public Move change(int emp, int day, int oldType, int newType) {
+        this.swap = false;
+        this.a    = emp;
+        this.day  = day;
+        this.oldA = oldType;
+        this.newA = newType;
+        return this;
+    }
+
+    /** 다른 이동을 그대로 복사 (후보 여러 개 중 고른 것을 기억할 때) */
+    public Move copyFrom(Move o) {
+        this.swap = o.swap;
+        this.a    = o.a;
+        this.b    = o.b;
+        this.day  = o.day;
+        this.oldA = o.oldA;
+        this.oldB = o.oldB;
+        this.newA = o.newA;
+        return this;
+    }
+
+    public void apply(Solution s) {
+        s.set(a, day, newA);
+        if (swap) s.set(b, day, oldA);
+    }
+
+    public void undo(Solution s) {
+        s.set(a, day, oldA);
+        if (swap) s.set(b, day, oldB);
+    }
+
+    boolean isSwap() {
+        return swap;
+    }
+
+    int emp() {
+        return a;
+    }
+
+    int other() {
+        return b;
+    }
+
+    int day() {
+        return day;
+    }
+
+    /** 바뀐 셀 주변 ±2일에 금지 패턴이 생겼는지 */
+    public boolean violatesHardRule(Solution s) {
+        return s.violatesAround(a, day) || (swap && s.violatesAround(b, day));
+    }
+}
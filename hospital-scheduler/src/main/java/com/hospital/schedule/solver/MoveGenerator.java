@@ -0,0 +1,78 @@
+package com.hospital.schedule.solver;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 이웃 이동 생성기 (모든 탐색 전략이 공유)
+ *
+ * 금지 패턴을 깨지 않는 선에서 같은 날짜 두 사람 근무 교환(swap) 또는 한 칸 변경을 만든다.
+ * 고정(lock)된 셀과 days 밖의 날짜는 건드리지 않는다. Move 인스턴스 하나를 계속 재사용한다.
+ */
+public final class MoveGenerator {
+
+    private static final int[] SHIFT_OPTIONS = {1, 2, 3, 4}; // D, E, N, OFF
+    private static final int   ATTEMPTS      = 30;
+    private static final double SWAP_RATIO   = 0.6;
+
+    private final Move move = new Move();
+    private final RandomGenerator rnd;
+    private final int[] days;   // 이웃 이동 후보 날짜
+
+    public MoveGenerator(int[] days, RandomGenerator rnd) {
+        this.days = days;
+        this.rnd  = rnd;
+    }
+
+    public static int[] allDays(int daysInMonth) {
+        int[] days = new int[daysInMonth];
+        for (int d = 1; d <= daysInMonth; d++) days[d - 1] = d;
+        return days;
+    }
+
+    /**
+     * s 에 이동 하나를 적용한 상태로 true 반환, 유효한 이동을 못 찾으면 false (s 는 그대로)
+     *  - 적용한 이동은 last() 로 되돌릴 수 있음
+     */
+    public boolean next(Solution s) {
+        int E = s.empIds.size();
+
+        // 여러 번 시도해 보다가 유효한 변경 못 찾으면 false
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            int day = days[rnd.nextInt(days.length)];
+
+            if (rnd.nextDouble() < SWAP_RATIO) {
+                // 같은 날짜에 두 사람 근무 교환
+                int a = rnd.nextInt(E);
+                int b = rnd.nextInt(E);
+                if (a == b || s.isLocked(a, day) || s.isLocked(b, day)) continue;
+
+                int tA = s.get(a, day);
+                int tB = s.get(b, day);
+                if (tA == tB) continue;
+                move.swap(a, b, day, tA, tB);
+            } else {
+                // 한 사람의 특정 날짜 근무 변경
+                int e = rnd.nextInt(E);
+                if (s.isLocked(e, day)) continue;
+                int old = s.get(e, day);
+                int neo = SHIFT_OPTIONS[rnd.nextInt(SHIFT_OPTIONS.length)];
+                if (neo == old) continue;
+                move.change(e, day, old, neo);
+            }
+
+            move.apply(s);
+            // 바뀐 셀 주변 ±2일만 검사
+            if (!move.violatesHardRule(s)) {
+                return true;
+            }
+            // 되돌리기
+            move.undo(s);
+        }
+        return false;
+    }
+
+    /** 마지막으로 만든 이동 */
+    public Move last() {
+        return move;
+    }
+}
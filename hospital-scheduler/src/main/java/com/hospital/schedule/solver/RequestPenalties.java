@@ -0,0 +1,53 @@
+package com.hospital.schedule.solver;
+
+/**
+ * 직원 근무 요청(희망/기피)을 솔브 한 번에 한 번만 펼쳐 둔 밀집 배열
+ *
+ *  - units[(emp * (days + 1) + day) * 5 + type] = 그 셀에 type 을 넣으면 어기게 되는 요청 수
+ *  - type 0(미배정)은 항상 0 → SA 루프에서는 분기 없이 배열 두 번 읽기로 끝남
+ *
+ * 가중치는 ScoreState.W_REQUEST 에서 곱한다.
+ */
+public final class RequestPenalties {
+
+    private static final int SLOTS = 5; // 0(미배정), D, E, N, OFF
+
+    private final int stride;
+    private final int[] units;
+    private int count;
+
+    public RequestPenalties(int empCount, int days) {
+        this.stride = days + 1;
+        this.units  = new int[empCount * stride * SLOTS];
+    }
+
+    /**
+     * emp 가 day 에 type 근무를 원함 (예: OFF 희망 = 휴무 신청) → 다른 타입이면 위반
+     */
+    public void want(int emp, int day, int type) {
+        int base = (emp * stride + day) * SLOTS;
+        for (int t = 1; t < SLOTS; t++) {
+            if (t != type) units[base + t]++;
+        }
+        count++;
+    }
+
+    /**
+     * emp 가 day 에 type 근무를 원하지 않음 → 그 타입이면 위반
+     */
+    public void avoid(int emp, int day, int type) {
+        units[(emp * stride + day) * SLOTS + type]++;
+        count++;
+    }
+
+    public int at(int emp, int day, int type) {
+        return units[(emp * stride + day) * SLOTS + type];
+    }
+
+    /**
+     * 펼쳐 넣은 요청 수
+     */
+    public int count() {
+        return count;
+    }
+}
@@ -0,0 +1,19 @@
+package com.hospital.schedule.solver;
+
+/**
+ * 제약조건별 점수 (가중치 적용 후, 합이 total)
+ *
+ * @param coverage     날짜별 D/E/N 최소 인원 부족
+ * @param consecutive  최대 연속 근무일 초과
+ * @param offCount     직원별 OFF 개수와 목표의 차이
+ * @param offBalance   OFF 개수 표준편차
+ * @param shiftBalance D/E/N 개수 표준편차 합
+ * @param requests     어긴 직원 근무 요청(휴무 신청 / 희망·기피)
+ */
+public record ScoreBreakdown(double coverage, double consecutive, double offCount,
+                             double offBalance, double shiftBalance, double requests) {
+
+    public double total() {
+        return coverage + consecutive + offCount + offBalance + shiftBalance + requests;
+    }
+}
@@ -0,0 +1,236 @@
+package com.hospital.schedule.solver;
+
+/**
+ * 근무표 점수의 증분(delta) 계산기
+ *
+ * SA 루프에서 매 iteration 마다 전체 grid 를 다시 훑지 않도록
+ * 아래 집계값을 유지하고, 셀 하나가 바뀔 때마다 O(1) ~ O(days) 로 갱신한다.
+ *  - 날짜별 D/E/N 인원 → 커버리지 부족 합계
+ *  - 직원별 D/E/N/OFF 개수 → OFF 목표 편차 합계, 유형별 합/제곱합(표준편차용)
+ *  - 직원별 연속 근무 초과 페널티 (OFF 비트보드로 계산, 이전 달 마지막 며칠부터 이어서 셈)
+ *  - 어긴 직원 근무 요청 수 (RequestPenalties 배열 조회)
+ *
+ * 근무 타입 ID 는 DB 고정값(1=D, 2=E, 3=N, 4=OFF)을 그대로 사용한다.
+ */
+public class ScoreState {
+
+    // 🏗️ 페널티 가중치
+    public static final double W_COVERAGE  = 500.0; // 커버리지 부족
+    public static final double W_CONSEC    = 250.0; // 연속 근무 초과
+    public static final double W_OFF_COUNT = 60.0;  // OFF 개수 목표와의 차이
+    public static final double W_BALANCE   = 10.0;  // D/E/N 균형(표준편차)
+    public static final double W_OFF_STD   = 20.0;  // OFF 균형(표준편차)
+    public static final double W_REQUEST   = 80.0;  // 직원 근무 요청 위반 1건
+
+    public static final int MAX_CONSEC_WORK_DAYS = 4; // 최대 연속 근무일
+
+    private static final int TYPES = 4;          // D, E, N, OFF
+    private static final int OFF_IDX = TYPES - 1;
+
+    private final int empCount;
+    private final int days;
+    private final int[][] required;   // [day][0:D,1:E,2:N] (1-based day, 공유/읽기 전용)
+    private final double offTarget;
+    private final RequestPenalties requests; // null 이면 요청 없음
+
+    private final int[] dayCount;     // [day * 3 + t] 날짜별 D/E/N 인원
+    private final int[] typeCount;    // [emp * 4 + t] 직원별 D/E/N/OFF 개수
+    private final long[] sum;         // [t] 직원별 개수의 합
+    private final long[] sumSq;       // [t] 직원별 개수의 제곱합
+    private final int[] streakUnits;  // [emp] 연속 근무 초과 단위
+
+    private int coverageShort;
+    private int totalStreakUnits;
+    private int requestUnits;
+    private double offDevSum;
+
+    private ScoreState(int empCount, int days, int[][] required, RequestPenalties requests) {
+        this.empCount  = empCount;
+        this.days      = days;
+        this.required  = required;
+        this.requests  = requests;
+        this.offTarget = offTarget(days);
+        this.dayCount    = new int[(days + 1) * 3];
+        this.typeCount   = new int[empCount * TYPES];
+        this.sum         = new long[TYPES];
+        this.sumSq       = new long[TYPES];
+        this.streakUnits = new int[empCount];
+    }
+
+    /** 1인당 OFF 목표 일수 (30일 기준 10일) */
+    static double offTarget(int days) {
+        return days * (10.0 / 30.0);
+    }
+
+    /**
+     * 해 전체를 한 번 스캔해서 집계값을 만든다 (초기 해, 검증용).
+     */
+    static ScoreState of(Solution s) {
+        int days = s.daysInMonth;
+        int[][] required = s.required;
+        ScoreState st = new ScoreState(s.empIds.size(), days, required, s.requests);
+
+        for (int i = 0; i < st.empCount; i++) {
+            for (int d = 1; d <= days; d++) {
+                int t = s.get(i, d) - 1;
+                if (t < 0) continue;
+                if (st.requests != null) st.requestUnits += st.requests.at(i, d, t + 1);
+                st.typeCount[i * TYPES + t]++;
+                if (t < 3) st.dayCount[d * 3 + t]++;
+            }
+            for (int t = 0; t < TYPES; t++) {
+                long c = st.typeCount[i * TYPES + t];
+                st.sum[t]   += c;
+                st.sumSq[t] += c * c;
+            }
+            st.offDevSum += Math.abs(st.typeCount[i * TYPES + OFF_IDX] - st.offTarget);
+            st.streakUnits[i] = streakUnits(s.mask(i, OFF_IDX + 1), days, prefixWork(s, i));
+            st.totalStreakUnits += st.streakUnits[i];
+        }
+
+        for (int d = 1; d <= days; d++) {
+            for (int t = 0; t < 3; t++) {
+                st.coverageShort += Math.max(0, required[d][t] - st.dayCount[d * 3 + t]);
+            }
+        }
+        return st;
+    }
+
+    /**
+     * s 의 (emp, day) 가 old → neo 로 바뀐 직후 호출 (비트보드도 이미 갱신돼 있어야 함)
+     */
+    void update(Solution s, int emp, int day, int old, int neo) {
+        if (old == neo) return;
+        int to = old - 1;
+        int tn = neo - 1;
+
+        // 1️⃣ 커버리지
+        if (to >= 0 && to < 3) adjustDay(day, to, -1);
+        if (tn >= 0 && tn < 3) adjustDay(day, tn, +1);
+
+        // 2️⃣ 직원별 유형 개수 + OFF 편차
+        int offBefore = typeCount[emp * TYPES + OFF_IDX];
+        if (to >= 0) adjustType(emp, to, -1);
+        if (tn >= 0) adjustType(emp, tn, +1);
+        int offAfter = typeCount[emp * TYPES + OFF_IDX];
+        if (offBefore != offAfter) {
+            offDevSum += Math.abs(offAfter - offTarget) - Math.abs(offBefore - offTarget);
+        }
+
+        // 3️⃣ 직원 근무 요청 (배열 두 번 조회)
+        if (requests != null) {
+            requestUnits += requests.at(emp, day, neo) - requests.at(emp, day, old);
+        }
+
+        // 4️⃣ 근무 ↔ OFF 가 바뀐 경우에만 연속 근무 재계산
+        if ((to == OFF_IDX) != (tn == OFF_IDX)) {
+            int units = streakUnits(s.mask(emp, OFF_IDX + 1), days, prefixWork(s, emp));
+            totalStreakUnits += units - streakUnits[emp];
+            streakUnits[emp] = units;
+        }
+    }
+
+    private void adjustDay(int day, int t, int delta) {
+        int idx = day * 3 + t;
+        int req = required[day][t];
+        coverageShort -= Math.max(0, req - dayCount[idx]);
+        dayCount[idx] += delta;
+        coverageShort += Math.max(0, req - dayCount[idx]);
+    }
+
+    private void adjustType(int emp, int t, int delta) {
+        int idx = emp * TYPES + t;
+        long c = typeCount[idx];
+        long n = c + delta;
+        typeCount[idx] = (int) n;
+        sum[t]   += delta;
+        sumSq[t] += n * n - c * c;
+    }
+
+    /**
+     * 연속 근무가 MAX_CONSEC_WORK_DAYS 를 넘는 날마다 (streak - MAX) 만큼 누적
+     *
+     * run_k = "k일 연속 근무로 끝나는 날" 비트 집합이라 하면
+     * 누적값 = Σ_{k > MAX} popcount(run_k) 이고, run_{k+1} = run_k & (work << k) 이다.
+     *
+     * 이전 달 근무(prefixWork, MonthPrefix 비트 배치)가 있으면 앞에 이어 붙여서 세되,
+     * 페널티는 이번 달 날짜에 끝나는 연속 근무만 센다.
+     */
+    private static int streakUnits(long offMask, int days, long prefixWork) {
+        long month = ((1L << days) - 1) << 1;             // bit 1..days
+        long work = ~offMask & month;
+        if (prefixWork != 0) {
+            int sh = MonthPrefix.DAYS - 1;
+            work  = (work << sh) | prefixWork;
+            month = month << sh;
+        }
+        long run = work;
+        for (int k = 1; k <= MAX_CONSEC_WORK_DAYS && run != 0; k++) {
+            run &= work << k;
+        }
+        int units = 0;
+        for (int k = MAX_CONSEC_WORK_DAYS + 1; run != 0; k++) {
+            units += Long.bitCount(run & month);
+            run &= work << k;
+        }
+        return units;
+    }
+
+    private static long prefixWork(Solution s, int emp) {
+        return s.prefix == null ? 0L : s.prefix.work(emp);
+    }
+
+    private double stdDev(int t) {
+        if (empCount == 0) return 0.0;
+        double mean = (double) sum[t] / empCount;
+        double variance = (double) sumSq[t] / empCount - mean * mean;
+        return variance > 0 ? Math.sqrt(variance) : 0.0;
+    }
+
+    /**
+     * 제약조건별 점수 (가중치 적용 후)
+     */
+    public ScoreBreakdown breakdown() {
+        return new ScoreBreakdown(
+                coverageShort * W_COVERAGE,
+                totalStreakUnits * W_CONSEC,
+                offDevSum * W_OFF_COUNT,
+                stdDev(OFF_IDX) * W_OFF_STD,
+                (stdDev(0) + stdDev(1) + stdDev(2)) * W_BALANCE,
+                requestUnits * W_REQUEST);
+    }
+
+    /**
+     * 커버리지 부족도, 연속 근무 초과도 없는지 (금지 패턴은 이동 단계에서 이미 막음)
+     */
+    public boolean isFeasible() {
+        return coverageShort == 0 && totalStreakUnits == 0;
+    }
+
+    /**
+     * 현재 총점 (낮을수록 좋음)
+     */
+    public double total() {
+        return coverageShort * W_COVERAGE
+                + totalStreakUnits * W_CONSEC
+                + offDevSum * W_OFF_COUNT
+                + stdDev(OFF_IDX) * W_OFF_STD
+                + (stdDev(0) + stdDev(1) + stdDev(2)) * W_BALANCE
+                + requestUnits * W_REQUEST;
+    }
+
+    /**
+     * 같은 크기의 다른 상태를 그대로 덮어쓴다 (best 해 스냅샷용, 할당 없음)
+     */
+    public void copyFrom(ScoreState o) {
+        System.arraycopy(o.dayCount, 0, dayCount, 0, dayCount.length);
+        System.arraycopy(o.typeCount, 0, typeCount, 0, typeCount.length);
+        System.arraycopy(o.sum, 0, sum, 0, TYPES);
+        System.arraycopy(o.sumSq, 0, sumSq, 0, TYPES);
+        System.arraycopy(o.streakUnits, 0, streakUnits, 0, empCount);
+        coverageShort    = o.coverageShort;
+        totalStreakUnits = o.totalStreakUnits;
+        offDevSum        = o.offDevSum;
+        requestUnits     = o.requestUnits;
+    }
+}
@@ -0,0 +1,212 @@
+package com.hospital.schedule.solver;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 탐색 체인 하나 (탐색 전략의 공통 뼈대)
+ *
+ * 문제 모델(Solution) / 점수 계산(ScoreState, Solution.score()) / 이웃 생성(MoveGenerator) 은 공유하고,
+ * 어떤 이동을 받아들일지(accept)와 iteration 사이의 상태 갱신만 하위 클래스가 정한다.
+ *  - AnnealingChain       : Simulated Annealing (온도에 따른 확률 수용)
+ *  - TabuChain            : Tabu Search (후보 여러 개 중 금지 목록 밖의 최선으로 이동)
+ *  - LateAcceptanceChain  : Late Acceptance Hill Climbing (L iteration 전 점수보다 나쁘지 않으면 수용)
+ *
+ * 자기 해(current), best 스냅샷 버퍼, 난수 생성기를 따로 가지므로
+ * 여러 체인을 서로 다른 스레드에서 동시에 돌릴 수 있다.
+ * run(n) 으로 n iteration 씩 끊어서 진행하고, 그 사이에 adopt() 로 다른 체인의 best 를 받아올 수 있다.
+ */
+public abstract class SearchChain {
+
+    protected final Solution current;
+    private final Solution best;       // 스냅샷 버퍼 (copyFrom 으로만 덮어씀)
+    protected final MoveGenerator moves;
+    protected final RandomGenerator rnd;
+    private final int iterBudget;      // 한 번 재시작한 뒤 최대 iteration
+    private int maxIter;
+
+    protected double currScore;
+    private double   bestScore;
+    private boolean  atBest = true;    // current 가 곧 best 인 상태 (스냅샷 보류 중)
+    private boolean  bestFeasible;     // best 해에 커버리지 부족 / 연속 근무 초과가 없는지
+    protected int    noImprove;
+    protected int    iterations;
+
+    // 📊 통계 (체인 전용 필드 — 솔브가 끝난 뒤 한 번에 모아서 메트릭으로 보냄)
+    private long accepted;
+    private long rejected;
+    private long infeasible;
+    private long reheats;
+
+    protected SearchChain(Solution initial, int[] days, int maxIter, RandomGenerator rnd) {
+        this.current    = initial;
+        this.best       = initial.copy();
+        this.rnd        = rnd;
+        this.moves      = new MoveGenerator(days, rnd);
+        this.iterBudget = maxIter;
+        this.maxIter    = maxIter;
+        this.currScore  = initial.score();
+        this.bestScore  = currScore;
+        this.bestFeasible = initial.isFeasible();
+    }
+
+    public boolean isDone() {
+        return iterations >= maxIter;
+    }
+
+    /**
+     * 최대 n iteration 진행 (복사 없이 apply → 평가 → 거절 시 undo)
+     */
+    public void run(int n) {
+        for (int k = 0; k < n && !isDone(); k++, iterations++) {
+            // 금지 패턴을 깨지 않는 이동만 사용
+            if (!propose()) {
+                infeasible++;
+                continue; // 유효한 이웃을 못 만들면 이번 iteration skip
+            }
+
+            double nextScore = current.score();
+
+            if (accept(currScore, nextScore)) {
+                accepted++;
+                if (nextScore < bestScore) {
+                    bestScore    = nextScore;
+                    bestFeasible = current.isFeasible();
+                    atBest       = true;
+                    noImprove    = 0;
+                } else {
+                    if (atBest) {
+                        // best 에서 벗어나는 순간에만 이동 전 상태를 스냅샷
+                        Move move = moves.last();
+                        move.undo(current);
+                        best.copyFrom(current);
+                        move.apply(current);
+                        atBest = false;
+                    }
+                    noImprove++;
+                }
+                currScore = nextScore;
+                onAccepted(moves.last());
+            } else {
+                moves.last().undo(current);
+                rejected++;
+                noImprove++;
+            }
+
+            afterIteration();
+        }
+    }
+
+    /**
+     * current 에 이동 하나를 적용하고 true (moves.last() 가 그 이동이어야 함), 못 만들면 false
+     *  - 기본은 무작위 이웃 하나
+     */
+    protected boolean propose() {
+        return moves.next(current);
+    }
+
+    /** 이동을 받아들일지 (curr: 이동 전 점수, next: 이동 후 점수, 낮을수록 좋음) */
+    protected abstract boolean accept(double curr, double next);
+
+    /** 이동을 받아들인 직후 (current 에 적용된 상태) */
+    protected void onAccepted(Move move) {
+    }
+
+    /** 유효한 이동을 평가한 iteration 끝마다 */
+    protected void afterIteration() {
+    }
+
+    /** 다시 시작할 때 전략별 상태 초기화 (온도, 이력 등) */
+    protected void onRestart() {
+    }
+
+    /** 전략 내부에서 정체를 풀려고 다시 시작한 횟수를 센다 */
+    protected final void countReheat() {
+        reheats++;
+    }
+
+    /**
+     * 끝난(isDone) 체인에 iteration 예산을 한 번 더 준다 (best 는 유지)
+     *  - 시간 예산이 남아 있을 때 솔버가 호출
+     */
+    public void reheat() {
+        noImprove = 0;
+        maxIter   = iterations + iterBudget;
+        reheats++;
+        onRestart();
+    }
+
+    /**
+     * 다른 체인이 찾은 해로 갈아탄다 (자기 best 는 유지)
+     */
+    public void adopt(Solution other, double score) {
+        if (atBest) best.copyFrom(current);
+        current.copyFrom(other);
+        currScore = score;
+        if (score < bestScore) {
+            bestScore    = score;
+            bestFeasible = other.isFeasible();
+            atBest       = true;
+        } else {
+            atBest = false;
+        }
+    }
+
+    /** 진행률 계산용 iteration 상한 (재시작 전 기준) */
+    public int maxIterations() {
+        return iterBudget;
+    }
+
+    public int iterations() {
+        return iterations;
+    }
+
+    public long accepted() {
+        return accepted;
+    }
+
+    public long rejected() {
+        return rejected;
+    }
+
+    public long infeasible() {
+        return infeasible;
+    }
+
+    public long reheats() {
+        return reheats;
+    }
+
+    /** 진행 보고용 온도 — 온도가 없는 전략은 0 */
+    public double temperature() {
+        return 0.0;
+    }
+
+    public double currentScore() {
+        return currScore;
+    }
+
+    public double bestScore() {
+        return bestScore;
+    }
+
+    public boolean isBestFeasible() {
+        return bestFeasible;
+    }
+
+    /**
+     * 지금까지의 best 해 (내부 버퍼이므로 읽기만 할 것)
+     */
+    public Solution best() {
+        if (atBest) best.copyFrom(current);
+        return best;
+    }
+
+    // 벤치마크용: 이웃 이동 하나를 current 에 적용 / 되돌리기
+    boolean tryMove() {
+        return moves.next(current);
+    }
+
+    void undoMove() {
+        moves.last().undo(current);
+    }
+}
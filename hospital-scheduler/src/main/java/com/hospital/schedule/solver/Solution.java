@@ -0,0 +1,184 @@
+package com.hospital.schedule.solver;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * 근무표 해 표현
+ *
+ *  - cells : 직원 × 일자 근무 타입 ID 를 1바이트씩 담은 평면 배열 (행 간격 = days + 1, 0 = 미배정)
+ *  - masks : 직원별 D/E/N/OFF 비트보드 (bit d = d일, 한 달이 long 하나에 들어감)
+ *  - locked: 직원별 고정 셀 비트 집합 (수기 입력 등 — 솔버가 바꾸지 않음)
+ *  - prefix: 이전 달 마지막 며칠 (있으면 금지 패턴 / 연속 근무를 달 경계 너머까지 판정)
+ *
+ * 셀 변경은 set() 하나로만 하고, 비트보드와 점수 집계가 함께 갱신된다.
+ */
+public class Solution {
+
+    public static final int TYPES = 4; // D, E, N, OFF
+
+    public final int year, month, daysInMonth;
+    public final List<Long> empIds;
+    public final int[][] required;
+    public final RequestPenalties requests; // 직원 근무 요청 (없으면 null, 공유/읽기 전용)
+    public final MonthPrefix prefix;        // 이전 달 마지막 며칠 (없으면 null, 공유/읽기 전용)
+
+    private final int stride;
+    private final byte[] cells;
+    private final long[] masks;   // [emp * 4 + (type - 1)]
+    private final long[] locked;  // [emp]
+    private final ScoreState score;
+
+    private Solution(int year, int month, List<Long> empIds, int[][] required, RequestPenalties requests,
+                     MonthPrefix prefix, byte[] cells) {
+        this.year        = year;
+        this.month       = month;
+        this.daysInMonth = YearMonth.of(year, month).lengthOfMonth();
+        this.empIds      = empIds;
+        this.required    = required;
+        this.requests    = requests;
+        this.prefix      = prefix;
+        this.stride      = daysInMonth + 1;
+        this.cells       = cells;
+        this.masks       = new long[empIds.size() * TYPES];
+        this.locked      = new long[empIds.size()];
+
+        for (int i = 0; i < empIds.size(); i++) {
+            for (int d = 1; d <= daysInMonth; d++) {
+                int t = cells[i * stride + d];
+                if (t > 0) masks[i * TYPES + t - 1] |= 1L << d;
+            }
+        }
+        this.score = ScoreState.of(this);
+    }
+
+    /**
+     * 모든 셀이 미배정(0)인 빈 해
+     */
+    public static Solution empty(int year, int month, List<Long> empIds, int[][] required) {
+        return empty(year, month, empIds, required, null);
+    }
+
+    public static Solution empty(int year, int month, List<Long> empIds, int[][] required,
+                                 RequestPenalties requests) {
+        return empty(year, month, empIds, required, requests, null);
+    }
+
+    public static Solution empty(int year, int month, List<Long> empIds, int[][] required,
+                                 RequestPenalties requests, MonthPrefix prefix) {
+        int days = YearMonth.of(year, month).lengthOfMonth();
+        return new Solution(year, month, empIds, required, requests, prefix, new byte[empIds.size() * (days + 1)]);
+    }
+
+    /**
+     * 같은 셀 / 고정 셀에 이전 달 근무만 바꿔 단 해 (달 경계 이어 붙이기용)
+     */
+    public Solution withPrefix(MonthPrefix prefix) {
+        Solution c = new Solution(year, month, empIds, required, requests, prefix, cells.clone());
+        System.arraycopy(locked, 0, c.locked, 0, locked.length);
+        return c;
+    }
+
+    public int get(int emp, int day) {
+        return cells[emp * stride + day];
+    }
+
+    /**
+     * get() 과 같지만 day <= 0 이면 이전 달 근무 (모르면 0)
+     */
+    public int typeAt(int emp, int day) {
+        if (day >= 1) return get(emp, day);
+        return prefix == null ? 0 : prefix.type(emp, 1 - day);
+    }
+
+    /**
+     * 셀 변경은 반드시 여기로 — 비트보드와 점수 집계를 함께 갱신
+     */
+    public void set(int emp, int day, int type) {
+        int idx = emp * stride + day;
+        int old = cells[idx];
+        if (old == type) return;
+        cells[idx] = (byte) type;
+
+        long bit = 1L << day;
+        if (old > 0)  masks[emp * TYPES + old - 1]  &= ~bit;
+        if (type > 0) masks[emp * TYPES + type - 1] |= bit;
+        score.update(this, emp, day, old, type);
+    }
+
+    /**
+     * (emp, day) 를 고정 — 이후 이웃 이동 / 후처리가 건드리지 않음
+     */
+    public void lock(int emp, int day) {
+        locked[emp] |= 1L << day;
+    }
+
+    public boolean isLocked(int emp, int day) {
+        return (locked[emp] & (1L << day)) != 0;
+    }
+
+    /**
+     * type(1=D, 2=E, 3=N, 4=OFF) 근무일의 비트 집합
+     */
+    public long mask(int emp, int type) {
+        return masks[emp * TYPES + type - 1];
+    }
+
+    /**
+     * emp 의 day 주변 ±2일 창에 금지 패턴이 있는지
+     */
+    public boolean violatesAround(int emp, int day) {
+        if (prefix != null && day <= 2) {
+            // 1~2일은 이전 달 근무까지 이어 붙여서 판정
+            return (violations(emp) & (0b111L << day)) != 0;
+        }
+        int b = emp * TYPES;
+        return HardRules.violatesAround(masks[b], masks[b + 1], masks[b + 2], masks[b + 3], day);
+    }
+
+    /**
+     * emp 의 한 달 전체에서 금지 패턴이 끝나는 날짜 비트 집합
+     */
+    public long violations(int emp) {
+        int b = emp * TYPES;
+        if (prefix == null) {
+            return HardRules.violations(masks[b], masks[b + 1], masks[b + 2], masks[b + 3]);
+        }
+        // 이번 달 d일 → bit (d + SHIFT), 이전 달 마지막 DAYS 일 → 아래쪽 비트
+        int sh = MonthPrefix.DAYS - 1;
+        long v = HardRules.violations(
+                (masks[b] << sh) | prefix.mask(emp, 1),
+                (masks[b + 1] << sh) | prefix.mask(emp, 2),
+                (masks[b + 2] << sh) | prefix.mask(emp, 3),
+                (masks[b + 3] << sh) | prefix.mask(emp, 4));
+        return (v >>> sh) & ~1L; // 이번 달 날짜만
+    }
+
+    public double score() {
+        return score.total();
+    }
+
+    public ScoreBreakdown breakdown() {
+        return score.breakdown();
+    }
+
+    public boolean isFeasible() {
+        return score.isFeasible();
+    }
+
+    /**
+     * 미리 만들어 둔 버퍼에 other 의 상태를 덮어쓴다 (할당 없음)
+     */
+    public void copyFrom(Solution other) {
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        System.arraycopy(other.masks, 0, masks, 0, masks.length);
+        System.arraycopy(other.locked, 0, locked, 0, locked.length);
+        score.copyFrom(other.score);
+    }
+
+    public Solution copy() {
+        Solution c = new Solution(year, month, empIds, required, requests, prefix, cells.clone());
+        System.arraycopy(locked, 0, c.locked, 0, locked.length);
+        return c;
+    }
+}
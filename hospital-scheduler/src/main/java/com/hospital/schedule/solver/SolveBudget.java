@@ -0,0 +1,22 @@
+package com.hospital.schedule.solver;
+
+import java.time.Duration;
+
+/**
+ * 솔브 예산 — 둘 다 없으면 예전처럼 MAX_ITER / 온도로만 끝난다
+ *
+ * @param timeLimit   벽시계 시간 한도 (있으면 다 식은 체인을 다시 데워 가며 한도까지 돌고 best 를 돌려줌)
+ * @param targetScore 이 점수 이하의 해를 찾으면 바로 종료
+ */
+public record SolveBudget(Duration timeLimit, Double targetScore) {
+
+    public static final SolveBudget NONE = new SolveBudget(null, null);
+
+    public boolean hasTimeLimit() {
+        return timeLimit != null && timeLimit.toMillis() > 0;
+    }
+
+    public boolean targetReached(double bestScore) {
+        return targetScore != null && bestScore <= targetScore;
+    }
+}
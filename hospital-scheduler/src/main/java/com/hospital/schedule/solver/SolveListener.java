@@ -0,0 +1,23 @@
+package com.hospital.schedule.solver;
+
+/**
+ * 솔버 진행 상황 콜백 + 취소 / 조기 종료 확인
+ *
+ * exchange-interval iteration 마다 한 번 호출된다 (SA 내부 루프에서는 호출하지 않음).
+ *  - isCancelled     : 결과를 버리고 중단 (CancellationException)
+ *  - isStopRequested : 지금까지의 best 로 끝내고 저장
+ */
+public interface SolveListener {
+
+    SolveListener NONE = progress -> { };
+
+    void onProgress(SolveProgress progress);
+
+    default boolean isCancelled() {
+        return false;
+    }
+
+    default boolean isStopRequested() {
+        return false;
+    }
+}
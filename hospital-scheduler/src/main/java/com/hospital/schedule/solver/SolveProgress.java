@@ -0,0 +1,17 @@
+package com.hospital.schedule.solver;
+
+/**
+ * 진행 상황 스냅샷 (best 체인 기준)
+ *
+ * @param iteration     가장 많이 진행한 체인의 iteration
+ * @param maxIterations 체인당 최대 iteration
+ * @param temperature   best 체인의 현재 온도
+ * @param currentScore  best 체인의 현재 점수
+ * @param bestScore     전역 best 점수
+ * @param feasible      전역 best 해에 커버리지 부족 / 연속 근무 초과가 없는지
+ * @param elapsedMillis 솔브 시작 후 경과 시간
+ */
+public record SolveProgress(int iteration, int maxIterations, double temperature,
+                            double currentScore, double bestScore, boolean feasible,
+                            long elapsedMillis) {
+}
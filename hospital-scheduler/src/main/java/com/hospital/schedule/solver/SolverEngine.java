@@ -0,0 +1,43 @@
+package com.hospital.schedule.solver;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 탐색 전략 선택 (요청마다 고를 수 있음, 기본값은 scheduler.solver.engine)
+ *
+ * 문제 모델(Solution), 점수(ScoreState), 이웃 생성(MoveGenerator) 은 전략과 무관하게 같고,
+ * 전략마다 SearchChain 구현만 다르다. 병렬 체인은 index 에 따라 파라미터를 조금씩 다르게 준다.
+ *  - ANNEALING       : 시작 온도 사다리
+ *  - TABU            : tenure 사다리
+ *  - LATE_ACCEPTANCE : 이력 길이 사다리
+ */
+public enum SolverEngine {
+
+    ANNEALING {
+        @Override
+        public SearchChain newChain(Solution initial, int index, RandomGenerator rnd) {
+            double t = AnnealingChain.INITIAL_T * (1 + index * AnnealingChain.TEMP_LADDER_STEP);
+            return new AnnealingChain(initial, t, rnd);
+        }
+    },
+
+    TABU {
+        @Override
+        public SearchChain newChain(Solution initial, int index, RandomGenerator rnd) {
+            return new TabuChain(initial, TabuChain.TENURE + index * TabuChain.TENURE_LADDER_STEP, rnd);
+        }
+    },
+
+    LATE_ACCEPTANCE {
+        @Override
+        public SearchChain newChain(Solution initial, int index, RandomGenerator rnd) {
+            int length = (int) (LateAcceptanceChain.HISTORY * (1 + index * LateAcceptanceChain.HISTORY_LADDER_STEP));
+            return new LateAcceptanceChain(initial, length, rnd);
+        }
+    };
+
+    /**
+     * 병렬 체인 index 번째 체인 생성 (initial 은 체인이 그대로 current 로 씀)
+     */
+    public abstract SearchChain newChain(Solution initial, int index, RandomGenerator rnd);
+}
@@ -0,0 +1,90 @@
+package com.hospital.schedule.solver;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Tabu Search 체인 하나
+ *
+ * iteration 마다 무작위 이웃 CANDIDATES 개를 평가(apply → 점수 → undo)해서
+ * 금지 목록에 없는 것 중 가장 좋은 이동으로 간다 (나빠지더라도 이동).
+ * 방금 바꾼 (직원, 날짜) 셀은 tenure iteration 동안 다시 못 바꾼다.
+ * 단, 지금까지의 best 보다 좋아지는 이동은 금지 목록이어도 허용 (aspiration).
+ * MAX_IDLE 동안 best 가 안 바뀌면 끝난 것으로 본다.
+ */
+public class TabuChain extends SearchChain {
+
+    // 🚫 Tabu 파라미터 — 병렬 체인 c 의 tenure = TENURE + c * TENURE_LADDER_STEP
+    public static final int CANDIDATES          = 24;
+    public static final int TENURE              = 12;
+    public static final int TENURE_LADDER_STEP  = 4;
+    public static final int MAX_ITER            = 4_000;
+    public static final int MAX_IDLE            = 800;
+
+    private final int tenure;
+    private final int stride;           // 직원 한 명당 칸 수 (daysInMonth + 1)
+    private final int[] tabuUntil;      // [emp * stride + day] 이 iteration 전까지 금지
+    private final Move chosen = new Move();
+
+    public TabuChain(Solution initial, int tenure, RandomGenerator rnd) {
+        super(initial, MoveGenerator.allDays(initial.daysInMonth), MAX_ITER, rnd);
+        this.tenure    = tenure;
+        this.stride    = initial.daysInMonth + 1;
+        this.tabuUntil = new int[initial.empIds.size() * stride];
+    }
+
+    @Override
+    public boolean isDone() {
+        return super.isDone() || noImprove > MAX_IDLE;
+    }
+
+    // ------------------------------------
+    // 🔹 후보 CANDIDATES 개 중 허용되는 최선의 이동을 current 에 적용
+    // ------------------------------------
+    @Override
+    protected boolean propose() {
+        boolean found = false;
+        double bestNext = Double.POSITIVE_INFINITY;
+
+        for (int k = 0; k < CANDIDATES; k++) {
+            if (!moves.next(current)) continue;
+            Move move = moves.last();
+            double score = current.score();
+            move.undo(current);
+
+            if (isTabu(move) && score >= bestScore()) continue;
+            if (score < bestNext) {
+                bestNext = score;
+                chosen.copyFrom(move);
+                found = true;
+            }
+        }
+        if (!found) return false;
+
+        moves.last().copyFrom(chosen).apply(current);
+        return true;
+    }
+
+    @Override
+    protected boolean accept(double curr, double next) {
+        return true; // 고른 이동으로 항상 간다
+    }
+
+    @Override
+    protected void onAccepted(Move move) {
+        int until = iterations + tenure;
+        tabuUntil[move.emp() * stride + move.day()] = until;
+        if (move.isSwap()) tabuUntil[move.other() * stride + move.day()] = until;
+    }
+
+    @Override
+    protected void onRestart() {
+        Arrays.fill(tabuUntil, 0);
+    }
+
+    private boolean isTabu(Move move) {
+        int day = move.day();
+        return tabuUntil[move.emp() * stride + day] > iterations
+                || (move.isSwap() && tabuUntil[move.other() * stride + day] > iterations);
+    }
+}
@@ -0,0 +1,92 @@
+-- ===========================================================
+-- 병원 근무표 스키마 (MariaDB)
+--  ※ 외부 DB 라 자동 실행되지 않음 — 새 환경 구성 시 직접 실행
+--  ※ 기존 DB 에는 아래 "인덱스 추가" 부분만 실행하면 됨
+-- ===========================================================
+
+CREATE TABLE IF NOT EXISTS employee (
+    id                    BIGINT       NOT NULL AUTO_INCREMENT,
+    name                  VARCHAR(50)  NOT NULL,
+    role                  VARCHAR(50)  NOT NULL,
+    night_shift_available TINYINT(1)   NOT NULL DEFAULT 1,
+    max_weekly_hours      INT          NOT NULL DEFAULT 40,
+    PRIMARY KEY (id)
+);
+
+-- 근무 타입 ID 는 고정값: 1=D, 2=E, 3=N, 4=OFF
+CREATE TABLE IF NOT EXISTS shift_type (
+    id         BIGINT      NOT NULL,
+    name       VARCHAR(20) NOT NULL,
+    start_time TIME        NULL,
+    end_time   TIME        NULL,
+    PRIMARY KEY (id)
+);
+
+-- 직원 × 날짜 당 근무 1건
+--  - uk_shift_employee_date : (employee_id, work_date) — 직원별 조회, insert 의 ON DUPLICATE KEY 기준
+--  - idx_shift_date_employee : (work_date, employee_id) — 월/기간 조회·삭제 (반열림 구간)
+--  - is_manual : 수기 입력/수정한 근무 (부분 수정 시 고정, 월 전체 재생성 때는 덮어씀)
+CREATE TABLE IF NOT EXISTS shift (
+    id            BIGINT     NOT NULL AUTO_INCREMENT,
+    employee_id   BIGINT     NOT NULL,
+    shift_type_id BIGINT     NOT NULL,
+    work_date     DATE       NOT NULL,
+    is_manual     TINYINT(1) NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_shift_employee_date (employee_id, work_date),
+    KEY idx_shift_date_employee (work_date, employee_id),
+    CONSTRAINT fk_shift_employee   FOREIGN KEY (employee_id)   REFERENCES employee (id) ON DELETE CASCADE,
+    CONSTRAINT fk_shift_shift_type FOREIGN KEY (shift_type_id) REFERENCES shift_type (id)
+);
+
+-- 직원 근무 요청 (휴무 신청 / 희망·기피 근무) — avoid = 1 이면 "이 근무는 빼 주세요"
+--  - 월 근무표 생성 시 [월 1일, 다음 달 1일) 로 한 번에 읽음
+CREATE TABLE IF NOT EXISTS shift_preference (
+    id            BIGINT     NOT NULL AUTO_INCREMENT,
+    employee_id   BIGINT     NOT NULL,
+    request_date  DATE       NOT NULL,
+    shift_type_id BIGINT     NOT NULL,
+    avoid         TINYINT(1) NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_shift_preference (employee_id, request_date, shift_type_id),
+    KEY idx_shift_preference_date (request_date),
+    CONSTRAINT fk_shift_preference_employee   FOREIGN KEY (employee_id)   REFERENCES employee (id) ON DELETE CASCADE,
+    CONSTRAINT fk_shift_preference_shift_type FOREIGN KEY (shift_type_id) REFERENCES shift_type (id)
+);
+
+-- 공휴일 달력 — 월 근무표 생성 시 [월 1일, 다음 달 1일) 범위로 읽음
+CREATE TABLE IF NOT EXISTS holiday (
+    holiday_date DATE        NOT NULL,
+    name         VARCHAR(50) NOT NULL,
+    PRIMARY KEY (holiday_date)
+);
+
+-- 직원 × 월 근무 통계 — 근무 쓰기(insert / 수정 / 삭제 / 월 교체)와 같은 트랜잭션에서 그 (직원, 월) 행만 다시 계산
+--  - 공정성 대시보드 / 연간 집계는 shift 를 훑지 않고 여기서 직원 수 × 개월 수 만큼만 읽음
+--  - longest_streak : 그 달 안에서 가장 긴 연속 근무 (D/E/N) 일수
+--  - 기존 DB 는 POST /api/stats/workload/rebuild?year=&month= 로 월마다 채움
+CREATE TABLE IF NOT EXISTS employee_monthly_stats (
+    employee_id    BIGINT NOT NULL,
+    month_start    DATE   NOT NULL,
+    day_count      INT    NOT NULL DEFAULT 0,
+    evening_count  INT    NOT NULL DEFAULT 0,
+    night_count    INT    NOT NULL DEFAULT 0,
+    off_count      INT    NOT NULL DEFAULT 0,
+    longest_streak INT    NOT NULL DEFAULT 0,
+    PRIMARY KEY (month_start, employee_id),
+    KEY idx_monthly_stats_employee (employee_id, month_start),
+    CONSTRAINT fk_monthly_stats_employee FOREIGN KEY (employee_id) REFERENCES employee (id) ON DELETE CASCADE
+);
+
+INSERT IGNORE INTO shift_type (id, name) VALUES (1, 'D'), (2, 'E'), (3, 'N'), (4, 'OFF');
+
+-- ===========================================================
+-- 인덱스 추가 (기존 DB)
+-- ===========================================================
+-- ALTER TABLE shift ADD UNIQUE KEY IF NOT EXISTS uk_shift_employee_date (employee_id, work_date);
+-- ALTER TABLE shift ADD KEY IF NOT EXISTS idx_shift_date_employee (work_date, employee_id);
+
+-- ===========================================================
+-- 컬럼 추가 (기존 DB)
+-- ===========================================================
+-- ALTER TABLE shift ADD COLUMN IF NOT EXISTS is_manual TINYINT(1) NOT NULL DEFAULT 0;
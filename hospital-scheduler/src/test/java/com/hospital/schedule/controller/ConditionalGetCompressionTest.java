@@ -0,0 +1,72 @@
+package com.hospital.schedule.controller;
+
+import com.hospital.schedule.dtos.ShiftDto;
+import com.hospital.schedule.service.ShiftService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * 조건부 GET + gzip — 실제 Tomcat 으로 요청해서 압축 / 304 재검증을 확인
+ * (MockMvc 는 서블릿 컨테이너의 압축을 거치지 않음, 근무 조회는 mock 이라 DB 없이 동작)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ConditionalGetCompressionTest {
+
+	@Value("${local.server.port}")
+	private int port;
+
+	@MockitoBean
+	private ShiftService shiftService;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void weakEtagResponseIsGzippedAndRevalidatesTo304() throws IOException, InterruptedException {
+		when(shiftService.getByMonth(2025, 11)).thenReturn(month(2025, 11));
+		URI uri = URI.create("http://localhost:" + port + "/api/shifts/month?year=2025&month=11");
+
+		HttpResponse<byte[]> first = client.send(HttpRequest.newBuilder(uri)
+				.header("Accept-Encoding", "gzip").build(), HttpResponse.BodyHandlers.ofByteArray());
+		assertThat(first.statusCode()).isEqualTo(200);
+		assertThat(first.headers().firstValue("Content-Encoding")).hasValue("gzip");
+		String etag = first.headers().firstValue("ETag").orElseThrow();
+		assertThat(etag).startsWith("W/\"");
+
+		HttpResponse<byte[]> again = client.send(HttpRequest.newBuilder(uri)
+				.header("Accept-Encoding", "gzip")
+				.header("If-None-Match", etag).build(), HttpResponse.BodyHandlers.ofByteArray());
+		assertThat(again.statusCode()).isEqualTo(304);
+		assertThat(again.body()).isEmpty();
+
+		// 중간 프록시가 W/ 를 떼어 보내도 약한 비교로 일치
+		HttpResponse<byte[]> stripped = client.send(HttpRequest.newBuilder(uri)
+				.header("If-None-Match", etag.substring(2)).build(), HttpResponse.BodyHandlers.ofByteArray());
+		assertThat(stripped.statusCode()).isEqualTo(304);
+	}
+
+	// min-response-size(2KB) 를 넘는 한 달 근무표
+	private static List<ShiftDto> month(int year, int month) {
+		List<ShiftDto> rows = new ArrayList<>();
+		LocalDate start = LocalDate.of(year, month, 1);
+		for (long emp = 1; emp <= 10; emp++) {
+			for (int d = 0; d < start.lengthOfMonth(); d++) {
+				rows.add(new ShiftDto(emp * 100 + d, emp, 1L, start.plusDays(d), "직원" + emp, "D", false));
+			}
+		}
+		return rows;
+	}
+}
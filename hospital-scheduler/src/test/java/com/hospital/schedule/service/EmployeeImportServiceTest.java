@@ -0,0 +1,117 @@
+package com.hospital.schedule.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.schedule.dtos.EmployeeImportResultDto;
+import com.hospital.schedule.dtos.EmployeeRequestDto;
+import com.hospital.schedule.mapper.EmployeeMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 직원 일괄 등록 — CSV 따옴표 / 헤더 별칭, 오류가 하나라도 있으면 롤백, JSON 문법 오류
+ * (EmployeeMapper 는 mock, 트랜잭션은 TransactionInterceptor 프록시 + mock 트랜잭션 매니저로 확인)
+ */
+class EmployeeImportServiceTest {
+
+	private final List<EmployeeRequestDto> inserted = new ArrayList<>();
+	private EmployeeMapper employeeMapper;
+	private RosterCache rosterCache;
+	private SimpleTransactionStatus status;
+	private EmployeeImportService service;
+
+	@BeforeEach
+	void setUp() {
+		employeeMapper = mock(EmployeeMapper.class);
+		// 청크 리스트는 INSERT 뒤 비워서 다시 쓰므로 호출 시점에 복사
+		doAnswer(inv -> inserted.addAll(inv.getArgument(0))).when(employeeMapper).insertBatch(any());
+		rosterCache = mock(RosterCache.class);
+		status = new SimpleTransactionStatus();
+		PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+		when(txManager.getTransaction(any())).thenReturn(status);
+
+		EmployeeImportService target = new EmployeeImportService(employeeMapper, rosterCache,
+				Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper());
+		ProxyFactory proxy = new ProxyFactory(target);
+		proxy.addAdvice(new TransactionInterceptor(txManager, new AnnotationTransactionAttributeSource()));
+		service = (EmployeeImportService) proxy.getProxy();
+	}
+
+	@Test
+	void csvHandlesQuotesBomAndHeaderAliases() throws IOException {
+		String csv = "\uFEFFName,ROLE,night_shift_available,max_weekly_hours\n"
+				+ "\"Kim, Minji\",RN,no,36\n"
+				+ "\n"
+				+ "\"Lee \"\"Jay\"\" Park\",\"Charge, RN\",,\n";
+
+		EmployeeImportResultDto result = service.importCsv(stream(csv));
+
+		assertThat(result.isSuccess()).isTrue();
+		assertThat(result.getImported()).isEqualTo(2);
+		assertThat(inserted).extracting(EmployeeRequestDto::getName).containsExactly("Kim, Minji", "Lee \"Jay\" Park");
+		assertThat(inserted).extracting(EmployeeRequestDto::getRole).containsExactly("RN", "Charge, RN");
+		assertThat(inserted).extracting(EmployeeRequestDto::isNightShiftAvailable).containsExactly(false, true);
+		assertThat(inserted).extracting(EmployeeRequestDto::getMaxWeeklyHours).containsExactly(36, 40);
+		assertThat(status.isRollbackOnly()).isFalse();
+		verify(rosterCache).evictEmployeeList();
+	}
+
+	@Test
+	void anyInvalidRowRollsBackChunksAlreadyInserted() throws IOException {
+		StringBuilder csv = new StringBuilder("name,role\n");
+		for (int i = 1; i <= 600; i++) {
+			csv.append(i == 550 ? "" : "n" + i).append(",RN\n");
+		}
+
+		EmployeeImportResultDto result = service.importCsv(stream(csv.toString()));
+
+		// 앞의 500행은 이미 INSERT 됐지만 트랜잭션째 롤백
+		verify(employeeMapper, times(1)).insertBatch(any());
+		assertThat(status.isRollbackOnly()).isTrue();
+		assertThat(result.isSuccess()).isFalse();
+		assertThat(result.getImported()).isZero();
+		assertThat(result.getRows()).isEqualTo(600);
+		assertThat(result.getErrors()).singleElement()
+				.satisfies(e -> {
+					assertThat(e.getRow()).isEqualTo(551); // 헤더가 1번 줄
+					assertThat(e.getField()).isEqualTo("name");
+				});
+		verify(rosterCache, never()).evictEmployeeList();
+	}
+
+	@Test
+	void malformedJsonIsReportedWithElementIndex() throws IOException {
+		String json = "[{\"name\":\"a\",\"role\":\"RN\"}, {\"name\":\"b\",\"role\":\"RN\"}, {\"name\":\"c\" \"role\":1}]";
+
+		EmployeeImportResultDto result = service.importJson(stream(json));
+
+		assertThat(result.isSuccess()).isFalse();
+		assertThat(result.getErrors()).singleElement()
+				.satisfies(e -> {
+					assertThat(e.getRow()).isEqualTo(3);
+					assertThat(e.getMessage()).startsWith("JSON 형식 오류");
+				});
+		assertThat(status.isRollbackOnly()).isTrue();
+		verify(employeeMapper, never()).insertBatch(any());
+	}
+
+	private static InputStream stream(String body) {
+		return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,94 @@
+package com.hospital.schedule.service;
+
+import com.hospital.schedule.config.SchedulerProperties;
+import com.hospital.schedule.dtos.ShiftRequestDto;
+import com.hospital.schedule.solver.HardRules;
+import com.hospital.schedule.solver.SolveBudget;
+import com.hospital.schedule.solver.SolveListener;
+import com.hospital.schedule.solver.SolveProgress;
+import com.hospital.schedule.solver.SolverEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 여러 달 생성 — 달 경계(12월 → 1월 → 2월)를 넘어도 금지 패턴이 없고, 모든 달이 저장되는지
+ * DB 없이 SchedulingService 만 돌린다 (ShiftService 는 mock — 이전 달 근무 없음, 저장 인자만 확인).
+ */
+class HorizonGenerationTest {
+
+	private static final YearMonth FIRST  = YearMonth.of(2025, 12);
+	private static final int       MONTHS = 3;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void horizonHasNoForbiddenPatternAcrossMonthSeams() {
+		SchedulerProperties properties = new SchedulerProperties();
+		properties.getSolver().setSeed(7L);
+		ShiftService shiftService = mock(ShiftService.class);
+		List<Long> employeeIds = new ArrayList<>();
+		for (long i = 1; i <= 12; i++) employeeIds.add(i);
+
+		ForkJoinPool pool = new ForkJoinPool(properties.getSolver().getChains());
+		Progress progress = new Progress();
+		try {
+			SchedulingService service = new SchedulingService(shiftService, properties, pool,
+					new SchedulerMetrics(new SimpleMeterRegistry()), mock(ShiftPreferenceService.class), new MonthLocks(),
+					properties.getCoverage().toRules());
+			service.generateHorizon(FIRST.getYear(), FIRST.getMonthValue(), MONTHS, employeeIds, Set.of(),
+					SolverEngine.ANNEALING, SolveBudget.NONE, progress);
+		} finally {
+			pool.shutdownNow();
+		}
+
+		ArgumentCaptor<Map<YearMonth, List<ShiftRequestDto>>> saved = ArgumentCaptor.forClass(Map.class);
+		verify(shiftService).replaceMonths(saved.capture());
+
+		// 달마다 직원 × 일 수만큼의 행
+		Map<YearMonth, List<ShiftRequestDto>> months = saved.getValue();
+		assertThat(months.keySet()).containsExactly(FIRST, FIRST.plusMonths(1), FIRST.plusMonths(2));
+		months.forEach((ym, rows) -> assertThat(rows).hasSize(employeeIds.size() * ym.lengthOfMonth()));
+
+		// 직원별로 석 달을 이어서 3일 창마다 금지 패턴 검사
+		Map<Long, TreeMap<LocalDate, Long>> byEmployee = new HashMap<>();
+		months.values().forEach(rows -> rows.forEach(r -> byEmployee
+				.computeIfAbsent(r.getEmployeeId(), k -> new TreeMap<>())
+				.put(r.getWorkDate(), r.getShiftTypeId())));
+		List<String> violations = new ArrayList<>();
+		byEmployee.forEach((emp, days) -> {
+			List<Long> types = new ArrayList<>(days.values());
+			List<LocalDate> dates = new ArrayList<>(days.keySet());
+			for (int d = 2; d < types.size(); d++) {
+				String pattern = HardRules.forbiddenPattern(types.get(d - 2), types.get(d - 1), types.get(d));
+				if (pattern != null) violations.add(emp + "@" + dates.get(d) + " " + pattern);
+			}
+		});
+		assertThat(violations).isEmpty();
+
+		// 달들이 동시에 풀려도 진행 상황은 전체 합으로 하나씩 (iteration 이 되돌아가지 않음, 분모는 석 달 몫)
+		assertThat(progress.events).isNotEmpty();
+		assertThat(progress.events).extracting(SolveProgress::iteration).isSorted();
+		assertThat(progress.events).extracting(SolveProgress::maxIterations)
+				.containsOnly(progress.events.get(0).maxIterations());
+		SolveProgress last = progress.events.get(progress.events.size() - 1);
+		assertThat(last.iteration()).isLessThanOrEqualTo(last.maxIterations());
+	}
+
+	private static final class Progress implements SolveListener {
+		private final List<SolveProgress> events = Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public void onProgress(SolveProgress p) {
+			events.add(p);
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.hospital.schedule.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 월 잠금 — 생성 중인 달의 근무 쓰기 / 부분 수정 거절, 생성 스레드의 재진입, 쓰기 잠금 대기 시간 초과
+ */
+class MonthLocksTest {
+
+	private static final YearMonth JAN = YearMonth.of(2025, 1);
+	private static final YearMonth FEB = YearMonth.of(2025, 2);
+
+	private final MonthLocks locks = new MonthLocks(100);
+	private final ExecutorService other = Executors.newCachedThreadPool();
+
+	@AfterEach
+	void tearDown() {
+		other.shutdownNow();
+	}
+
+	@Test
+	void editIsRejectedOnlyForTheMonthBeingGenerated() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<?> generation = other.submit(() -> locks.generate(List.of(FEB), () -> false, () -> {
+			started.countDown();
+			await(release);
+			return null;
+		}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> locks.lockForEdit(List.of(JAN, FEB)))
+				.isInstanceOf(MonthBusyException.class)
+				.hasMessageStartingWith(FEB.toString());
+		// 다른 달은 그대로 (64개월 떨어진 달도 — 달마다 잠금이 따로)
+		locks.lockForEdit(List.of(JAN));
+		locks.lockForEdit(List.of(FEB.plusMonths(64)));
+
+		release.countDown();
+		generation.get(5, TimeUnit.SECONDS);
+		locks.lockForEdit(List.of(FEB));
+	}
+
+	@Test
+	void tryGenerateGivesUpWhileAnotherGenerationHoldsTheMonth() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<?> generation = other.submit(() -> locks.generate(List.of(FEB), () -> false, () -> {
+			started.countDown();
+			await(release);
+			return null;
+		}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> locks.tryGenerate(List.of(JAN, FEB), () -> null))
+				.isInstanceOf(MonthBusyException.class)
+				.hasMessageStartingWith(FEB.toString());
+		// 먼저 잡은 JAN 은 풀어 둠
+		other.submit(() -> locks.lockForEdit(List.of(JAN))).get(5, TimeUnit.SECONDS);
+
+		release.countDown();
+		generation.get(5, TimeUnit.SECONDS);
+		assertThat(locks.tryGenerate(List.of(FEB), () -> "ok")).isEqualTo("ok");
+	}
+
+	@Test
+	void generatingThreadCanSaveItsOwnMonthsAndReleasesEverything() throws Exception {
+		locks.generate(List.of(JAN, FEB), () -> false, () -> {
+			locks.lockForEdit(List.of(FEB)); // 생성 결과 저장 (replaceMonth) 경로
+			locks.lockForEdit(List.of(JAN, FEB));
+			return null;
+		});
+
+		// 재진입 횟수만큼 풀렸으면 다른 스레드가 바로 잡을 수 있음
+		other.submit(() -> locks.lockForEdit(List.of(JAN, FEB))).get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void editWaitsForAnotherEditUntilTimeoutAndNamesTheBlockedMonth() throws Exception {
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch commit = new CountDownLatch(1);
+		Future<?> writer = other.submit(() -> {
+			// 트랜잭션 안의 쓰기 — 커밋(afterCompletion)까지 FEB 를 잡고 있음
+			TransactionSynchronizationManager.initSynchronization();
+			try {
+				locks.lockForEdit(List.of(FEB));
+				locked.countDown();
+				await(commit);
+				for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+					sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+				}
+			} finally {
+				TransactionSynchronizationManager.clearSynchronization();
+			}
+		});
+		assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> locks.lockForEdit(List.of(JAN, FEB)))
+				.isInstanceOf(MonthBusyException.class)
+				.hasMessageStartingWith(FEB.toString());
+		// 실패하면서 먼저 잡은 JAN 은 풀어 둠 (다른 스레드에서 바로 잡힘)
+		other.submit(() -> locks.lockForEdit(List.of(JAN))).get(5, TimeUnit.SECONDS);
+
+		commit.countDown();
+		writer.get(5, TimeUnit.SECONDS);
+		locks.lockForEdit(List.of(JAN, FEB));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
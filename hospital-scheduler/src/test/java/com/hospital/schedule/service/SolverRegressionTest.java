@@ -0,0 +1,251 @@
+package com.hospital.schedule.service;
+
+import com.hospital.schedule.config.SchedulerProperties;
+import com.hospital.schedule.solver.SolveBudget;
+import com.hospital.schedule.solver.SolveListener;
+import com.hospital.schedule.solver.SolveProgress;
+import com.hospital.schedule.solver.SolverEngine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 솔버 품질 / 시간 회귀 테스트
+ *
+ * 고정 문제 모음(solver/corpus.csv)을 탐색 전략마다 고정 시드로 풀고,
+ * 제약조건별 최종 점수 / 가능해 도달 시간 / best 의 WITHIN 이내 도달 시간을 저장된 기준(solver/baseline.csv)과 비교한다.
+ * 점수는 문제마다, 솔브 시간은 (JIT / GC 잡음을 줄이려고) 전략별로 문제 모음 전체 합으로 비교한다.
+ * 솔브 시간 비교는 실행 기계에 따라 흔들리므로 기본은 끄고 -Dsolver.timing.check=true 일 때만 한다 (점수 비교는 항상).
+ * DB 없이 SchedulingService 만 돌린다 (ShiftService 는 mock — 이전 달 근무 없음, 저장은 무시).
+ *
+ *  - 결과 표: target/solver-regression.csv
+ *  - 기준 갱신: mvn test -Dtest=SolverRegressionTest -Dsolver.baseline.update=true
+ *  - 시간 비교: mvn test -Dtest=SolverRegressionTest -Dsolver.timing.check=true
+ */
+class SolverRegressionTest {
+
+	private static final String CORPUS   = "/solver/corpus.csv";
+	private static final Path   BASELINE = Path.of("src/test/resources/solver/baseline.csv");
+	private static final Path   REPORT   = Path.of("target/solver-regression.csv");
+
+	private static final double WITHIN          = 0.05; // time-to-within: 최종 best 의 5% 이내
+	private static final double SCORE_TOLERANCE = 0.02; // 점수는 2% (+1점) 까지 허용
+	private static final double TIME_FACTOR     = 3.0;  // 전략별 솔브 시간 합은 기준의 3배 (+500ms) 까지 허용
+	private static final long   TIME_SLACK_MS   = 500;
+
+	private static final String HEADER = "instance,engine,total,coverage,consecutive,offCount,offBalance,"
+			+ "shiftBalance,requests,feasibleMs,withinMs,solveMs";
+
+	@Test
+	void solverQualityAndTimeStayWithinBaseline() throws IOException {
+		List<Instance> corpus = loadCorpus();
+		for (SolverEngine engine : SolverEngine.values()) {
+			solve(corpus.get(0), engine); // JIT 워밍업 (기록 안 함)
+		}
+
+		List<Result> results = new ArrayList<>();
+		for (Instance instance : corpus) {
+			for (SolverEngine engine : SolverEngine.values()) {
+				results.add(solve(instance, engine));
+			}
+		}
+
+		List<String> lines = new ArrayList<>();
+		lines.add(HEADER);
+		results.forEach(r -> lines.add(r.toCsv()));
+		Files.createDirectories(REPORT.getParent());
+		Files.write(REPORT, lines);
+
+		if (Boolean.getBoolean("solver.baseline.update")) {
+			Files.write(BASELINE, lines);
+			return;
+		}
+
+		Map<String, Result> baseline = loadBaseline();
+		List<String> regressions = new ArrayList<>();
+		Map<String, long[]> solveMs = new TreeMap<>(); // 전략별 {기준 합, 이번 합}
+		for (Result r : results) {
+			Result base = baseline.get(r.key());
+			if (base == null) {
+				regressions.add(r.key() + ": 기준 없음 (-Dsolver.baseline.update=true 로 갱신)");
+				continue;
+			}
+			if (r.total > base.total * (1 + SCORE_TOLERANCE) + 1.0) {
+				regressions.add(String.format("%s: 점수 %.1f → %.1f", r.key(), base.total, r.total));
+			}
+			if (base.feasibleMs >= 0 && r.feasibleMs < 0) {
+				regressions.add(r.key() + ": 가능해(커버리지/연속 근무 위반 없음)에 도달하지 못함");
+			}
+			long[] sum = solveMs.computeIfAbsent(r.engine, k -> new long[2]);
+			sum[0] += base.solveMs;
+			sum[1] += r.solveMs;
+		}
+		if (Boolean.getBoolean("solver.timing.check")) {
+			solveMs.forEach((engine, sum) -> {
+				if (sum[1] > Math.max(sum[0] * TIME_FACTOR, sum[0] + TIME_SLACK_MS)) {
+					regressions.add(String.format("%s: 솔브 시간 합 %dms → %dms", engine, sum[0], sum[1]));
+				}
+			});
+		}
+		assertThat(regressions).as("솔버 회귀 (결과: %s)", REPORT).isEmpty();
+	}
+
+	private Result solve(Instance instance, SolverEngine engine) {
+		SchedulerProperties properties = new SchedulerProperties();
+		properties.getSolver().setSeed(instance.seed);
+
+		MeterRegistry registry = new SimpleMeterRegistry();
+		ForkJoinPool pool = new ForkJoinPool(properties.getSolver().getChains());
+		try {
+			SchedulingService service = new SchedulingService(mock(ShiftService.class), properties, pool,
+					new SchedulerMetrics(registry), mock(ShiftPreferenceService.class), new MonthLocks(),
+					properties.getCoverage().toRules());
+			Trace trace = new Trace();
+
+			long started = System.nanoTime();
+			service.generateMonthlySchedule(instance.ym.getYear(), instance.ym.getMonthValue(),
+					instance.employeeIds(), instance.holidays, instance.requests(),
+					engine, SolveBudget.NONE, trace);
+			long solveMs = (System.nanoTime() - started) / 1_000_000;
+
+			return new Result(instance.name, engine.name(),
+					score(registry, "total"), score(registry, "coverage"), score(registry, "consecutive"),
+					score(registry, "off_count"), score(registry, "off_balance"), score(registry, "shift_balance"),
+					score(registry, "requests"),
+					trace.firstFeasibleMs(), trace.firstWithinMs(WITHIN), solveMs);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static double score(MeterRegistry registry, String constraint) {
+		return registry.get("scheduler.score").tag("constraint", constraint).gauge().value();
+	}
+
+	// 진행 보고를 모아 두었다가 가능해 / best 근처 도달 시간을 계산
+	private static final class Trace implements SolveListener {
+		private final List<SolveProgress> events = new ArrayList<>();
+
+		@Override
+		public void onProgress(SolveProgress p) {
+			events.add(p);
+		}
+
+		long firstFeasibleMs() {
+			return events.stream().filter(SolveProgress::feasible)
+					.mapToLong(SolveProgress::elapsedMillis).findFirst().orElse(-1);
+		}
+
+		long firstWithinMs(double ratio) {
+			if (events.isEmpty()) return -1;
+			double last = events.get(events.size() - 1).bestScore();
+			return events.stream().filter(p -> p.bestScore() <= last * (1 + ratio))
+					.mapToLong(SolveProgress::elapsedMillis).findFirst().orElse(-1);
+		}
+	}
+
+	// ------------------------------------
+	// 🔹 문제 모음 / 기준 읽기
+	// ------------------------------------
+	private record Instance(String name, YearMonth ym, int employees, Set<LocalDate> holidays,
+							double requestDensity, long seed) {
+
+		List<Long> employeeIds() {
+			List<Long> ids = new ArrayList<>(employees);
+			for (long i = 1; i <= employees; i++) ids.add(i);
+			return ids;
+		}
+
+		// 직원·일마다 requestDensity 확률로 요청 하나 (60% 는 휴무 신청, 나머지는 무작위 희망/기피)
+		Map<Long, List<SchedulingService.ShiftRequest>> requests() {
+			SplittableRandom rnd = new SplittableRandom(seed);
+			Map<Long, List<SchedulingService.ShiftRequest>> requests = new HashMap<>();
+			for (long emp = 1; emp <= employees; emp++) {
+				for (int d = 1; d <= ym.lengthOfMonth(); d++) {
+					if (rnd.nextDouble() >= requestDensity) continue;
+					boolean dayOff = rnd.nextDouble() < 0.6;
+					long type = dayOff ? 4 : 1 + rnd.nextInt(3);
+					boolean avoid = !dayOff && rnd.nextBoolean();
+					requests.computeIfAbsent(emp, k -> new ArrayList<>())
+							.add(new SchedulingService.ShiftRequest(emp, ym.atDay(d), type, avoid));
+				}
+			}
+			return requests;
+		}
+	}
+
+	private record Result(String instance, String engine, double total, double coverage, double consecutive,
+						  double offCount, double offBalance, double shiftBalance, double requests,
+						  long feasibleMs, long withinMs, long solveMs) {
+
+		String key() {
+			return instance + "/" + engine;
+		}
+
+		String toCsv() {
+			return String.format(Locale.ROOT, "%s,%s,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%d,%d",
+					instance, engine, total, coverage, consecutive, offCount, offBalance, shiftBalance, requests,
+					feasibleMs, withinMs, solveMs);
+		}
+
+		static Result parse(String line) {
+			String[] f = line.split(",", -1);
+			return new Result(f[0], f[1],
+					Double.parseDouble(f[2]), Double.parseDouble(f[3]), Double.parseDouble(f[4]),
+					Double.parseDouble(f[5]), Double.parseDouble(f[6]), Double.parseDouble(f[7]),
+					Double.parseDouble(f[8]),
+					Long.parseLong(f[9]), Long.parseLong(f[10]), Long.parseLong(f[11]));
+		}
+	}
+
+	private static List<Instance> loadCorpus() throws IOException {
+		List<Instance> corpus = new ArrayList<>();
+		for (String line : readLines(SolverRegressionTest.class.getResourceAsStream(CORPUS))) {
+			String[] f = line.split(",", -1);
+			YearMonth ym = YearMonth.parse(f[1]);
+			Set<LocalDate> holidays = new HashSet<>();
+			for (String day : f[3].split(";")) {
+				if (!day.isBlank()) holidays.add(ym.atDay(Integer.parseInt(day.trim())));
+			}
+			corpus.add(new Instance(f[0], ym, Integer.parseInt(f[2]), holidays,
+					Double.parseDouble(f[4]), Long.parseLong(f[5])));
+		}
+		return corpus;
+	}
+
+	private static Map<String, Result> loadBaseline() throws IOException {
+		Map<String, Result> baseline = new HashMap<>();
+		if (!Files.exists(BASELINE)) return baseline;
+		for (String line : readLines(Files.newInputStream(BASELINE))) {
+			if (line.equals(HEADER)) continue;
+			Result r = Result.parse(line);
+			baseline.put(r.key(), r);
+		}
+		return baseline;
+	}
+
+	// 빈 줄 / # 주석 제외
+	private static List<String> readLines(InputStream in) throws IOException {
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			return reader.lines()
+					.map(String::trim)
+					.filter(l -> !l.isEmpty() && !l.startsWith("#"))
+					.toList();
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.hospital.schedule.service;
+
+import com.hospital.schedule.dtos.ShiftDto;
+import com.hospital.schedule.dtos.ShiftRequestDto;
+import com.hospital.schedule.dtos.WorkloadStatsDto;
+import com.hospital.schedule.mapper.ShiftMapper;
+import com.hospital.schedule.mapper.WorkloadStatsMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 직원 × 월 근무 통계 — 개수 / 가장 긴 연속 근무 계산과 갱신 경로 (mapper 는 mock, DB 없음)
+ */
+class WorkloadStatsServiceTest {
+
+	private static final long D = 1, E = 2, N = 3, OFF = 4;
+	private static final YearMonth FEB = YearMonth.of(2025, 2);
+
+	private WorkloadStatsMapper statsMapper;
+	private ShiftMapper shiftMapper;
+	private RosterCache rosterCache;
+	private WorkloadStatsService service;
+
+	@BeforeEach
+	void setUp() {
+		statsMapper = mock(WorkloadStatsMapper.class);
+		shiftMapper = mock(ShiftMapper.class);
+		rosterCache = mock(RosterCache.class);
+		service = new WorkloadStatsService(statsMapper, shiftMapper, new MonthLocks(), rosterCache);
+	}
+
+	@Test
+	void replaceMonthCountsTypesAndLongestRunWithinMonth() {
+		// 직원 1: D E N / OFF / D×5 / 나머지 OFF, 직원 2: 말일 N 하나
+		List<ShiftRequestDto> rows = new ArrayList<>();
+		long[] first = {D, E, N, OFF, D, D, D, D, D};
+		for (int d = 1; d <= FEB.lengthOfMonth(); d++) {
+			rows.add(row(1L, FEB.atDay(d), d <= first.length ? first[d - 1] : OFF));
+		}
+		rows.add(row(2L, FEB.atEndOfMonth(), N));
+
+		service.replaceMonth(FEB, rows);
+
+		verify(statsMapper).deleteByMonth(FEB.atDay(1));
+		List<WorkloadStatsDto> saved = upserted();
+		assertThat(saved).hasSize(2);
+		assertThat(saved.get(0)).isEqualTo(new WorkloadStatsDto(1L, null, FEB.atDay(1), 6, 1, 1, 20, 5));
+		assertThat(saved.get(1)).isEqualTo(new WorkloadStatsDto(2L, null, FEB.atDay(1), 0, 0, 1, 0, 1));
+		verifyNoInteractions(shiftMapper);
+	}
+
+	@Test
+	void refreshRereadsTouchedMonthsAndDeletesEmptiedEmployees() {
+		YearMonth mar = FEB.plusMonths(1);
+		when(shiftMapper.findWindows(any(), eq(FEB.atDay(1)), eq(mar.atDay(1))))
+				.thenReturn(List.of(shift(1L, FEB.atDay(27), N), shift(1L, FEB.atDay(28), N)));
+		when(shiftMapper.findWindows(any(), eq(mar.atDay(1)), eq(mar.plusMonths(1).atDay(1))))
+				.thenReturn(List.of(shift(1L, mar.atDay(1), OFF)));
+
+		// 2월: 직원 1 은 남아 있고 직원 2 는 근무가 다 지워짐 / 3월: 직원 1
+		service.refresh(List.of(row(1L, FEB.atDay(28), N), row(2L, FEB.atDay(10), D), row(1L, mar.atDay(1), OFF)));
+
+		verify(shiftMapper).findWindows(Set.of(1L, 2L), FEB.atDay(1), mar.atDay(1));
+		verify(shiftMapper).findWindows(Set.of(1L), mar.atDay(1), mar.plusMonths(1).atDay(1));
+		verify(statsMapper).deleteByEmployees(FEB.atDay(1), Set.of(2L));
+		verify(statsMapper, never()).deleteByMonth(any());
+
+		// 달을 넘는 N N | OFF 는 달마다 따로 셈
+		assertThat(upserted()).containsExactly(
+				new WorkloadStatsDto(1L, null, FEB.atDay(1), 0, 0, 2, 0, 2),
+				new WorkloadStatsDto(1L, null, mar.atDay(1), 0, 0, 0, 1, 0));
+	}
+
+	@Test
+	void rebuildMonthReplacesStatsAndBumpsMonthVersion() {
+		when(shiftMapper.findByRange(FEB.atDay(1), FEB.plusMonths(1).atDay(1)))
+				.thenReturn(List.of(shift(3L, FEB.atDay(1), D), shift(3L, FEB.atDay(2), E)));
+
+		assertThat(service.rebuildMonth(2025, 2)).isEqualTo(1);
+
+		verify(statsMapper).deleteByMonth(FEB.atDay(1));
+		assertThat(upserted()).containsExactly(new WorkloadStatsDto(3L, null, FEB.atDay(1), 1, 1, 0, 0, 2));
+		verify(rosterCache).evictMonth(FEB);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<WorkloadStatsDto> upserted() {
+		ArgumentCaptor<List<WorkloadStatsDto>> captor = ArgumentCaptor.forClass(List.class);
+		verify(statsMapper, atLeastOnce()).upsertBatch(captor.capture());
+		List<WorkloadStatsDto> all = new ArrayList<>();
+		captor.getAllValues().forEach(all::addAll);
+		all.sort(Comparator.comparing(WorkloadStatsDto::getMonth).thenComparing(WorkloadStatsDto::getEmployeeId));
+		return all;
+	}
+
+	private static ShiftRequestDto row(Long emp, LocalDate date, long type) {
+		ShiftRequestDto dto = new ShiftRequestDto();
+		dto.setEmployeeId(emp);
+		dto.setWorkDate(date);
+		dto.setShiftTypeId(type);
+		return dto;
+	}
+
+	private static ShiftDto shift(Long emp, LocalDate date, long type) {
+		return new ShiftDto(null, emp, type, date, null, null, false);
+	}
+}
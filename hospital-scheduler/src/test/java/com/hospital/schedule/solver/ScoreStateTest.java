@@ -0,0 +1,149 @@
+package com.hospital.schedule.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ScoreStateTest {
+
+	private static final int EMPS = 12;
+
+	@Test
+	void incrementalUpdatesMatchFullRescan() {
+		Random rnd = new Random(42);
+		List<Long> empIds = new ArrayList<>();
+		for (long i = 1; i <= EMPS; i++) empIds.add(i);
+
+		Solution s = Solution.empty(2025, 4, empIds, requirements(30));
+		for (int i = 0; i < EMPS; i++) {
+			for (int d = 1; d <= s.daysInMonth; d++) {
+				s.set(i, d, 1 + rnd.nextInt(4));
+			}
+		}
+		for (int k = 0; k < 5_000; k++) {
+			s.set(rnd.nextInt(EMPS), 1 + rnd.nextInt(s.daysInMonth), 1 + rnd.nextInt(4));
+		}
+
+		// copy() 는 셀에서 집계를 처음부터 다시 만든다
+		assertThat(s.score()).isCloseTo(s.copy().score(), within(1e-6));
+	}
+
+	@Test
+	void requestPenaltiesFollowIncrementalUpdates() {
+		Random rnd = new Random(7);
+		List<Long> empIds = new ArrayList<>();
+		for (long i = 1; i <= EMPS; i++) empIds.add(i);
+
+		RequestPenalties requests = new RequestPenalties(EMPS, 30);
+		requests.want(0, 5, 4);  // 0번 직원 5일 휴무 신청
+		requests.avoid(1, 5, 3); // 1번 직원 5일 나이트 제외
+
+		Solution s = Solution.empty(2025, 4, empIds, requirements(30), requests);
+		s.set(0, 5, 1);
+		s.set(1, 5, 3);
+		assertThat(s.breakdown().requests()).isEqualTo(2 * ScoreState.W_REQUEST);
+
+		s.set(0, 5, 4);
+		assertThat(s.breakdown().requests()).isEqualTo(ScoreState.W_REQUEST);
+
+		for (int k = 0; k < 5_000; k++) {
+			s.set(rnd.nextInt(EMPS), 1 + rnd.nextInt(s.daysInMonth), 1 + rnd.nextInt(4));
+		}
+		assertThat(s.score()).isCloseTo(s.copy().score(), within(1e-6));
+	}
+
+	@Test
+	void violationsMaskFindsForbiddenPatterns() {
+		Solution s = Solution.empty(2025, 4, List.of(1L), requirements(30));
+		for (int d = 1; d <= 30; d++) s.set(0, d, 4);
+
+		s.set(0, 3, 3);
+		s.set(0, 5, 1); // N-O-D (3-4-5)
+		assertThat(s.violations(0)).isEqualTo(1L << 5);
+		assertThat(s.violatesAround(0, 3)).isTrue();
+		assertThat(s.violatesAround(0, 6)).isFalse();
+
+		s.set(0, 5, 4);
+		s.set(0, 10, 2);
+		s.set(0, 11, 1); // E → D
+		assertThat(s.violations(0)).isEqualTo(1L << 11);
+	}
+
+	@Test
+	void previousMonthPrefixCarriesPatternsAndStreaks() {
+		MonthPrefix prefix = new MonthPrefix(1);
+		for (int k = 1; k <= MonthPrefix.DAYS; k++) prefix.set(0, k, 1); // 이전 달 마지막 4일 D
+		prefix.set(0, 1, 3);                                              // 말일은 N
+
+		Solution s = Solution.empty(2025, 4, List.of(1L), requirements(30), null, prefix);
+		for (int d = 1; d <= 30; d++) s.set(0, d, 4);
+		assertThat(s.violations(0)).isZero();
+		assertThat(s.breakdown().consecutive()).isZero();
+
+		s.set(0, 1, 1); // 말일 N → 1일 D, 5일 연속 근무
+		assertThat(s.violations(0)).isEqualTo(1L << 1);
+		assertThat(s.violatesAround(0, 1)).isTrue();
+		assertThat(s.breakdown().consecutive()).isEqualTo(ScoreState.W_CONSEC);
+		assertThat(s.score()).isCloseTo(s.copy().score(), within(1e-6));
+
+		s.set(0, 1, 4);
+		s.set(0, 2, 1); // N-O-D (말일-1일-2일)
+		assertThat(s.violations(0)).isEqualTo(1L << 2);
+	}
+
+	@Test
+	void everyEngineKeepsScoreConsistentAndHardRulesIntact() {
+		List<Long> empIds = new ArrayList<>();
+		for (long i = 1; i <= EMPS; i++) empIds.add(i);
+
+		for (SolverEngine engine : SolverEngine.values()) {
+			SplittableRandom rnd = new SplittableRandom(11);
+			Solution init = InitialSchedule.create(2025, 4, empIds, requirements(30), rnd);
+			double initial = init.score();
+
+			SearchChain chain = engine.newChain(init, 0, rnd);
+			chain.run(2_000);
+
+			Solution best = chain.best();
+			assertThat(best.score()).as(engine.name()).isCloseTo(best.copy().score(), within(1e-6));
+			assertThat(chain.bestScore()).as(engine.name()).isLessThanOrEqualTo(initial);
+			for (int i = 0; i < EMPS; i++) {
+				assertThat(best.violations(i)).as(engine.name()).isZero();
+			}
+		}
+	}
+
+	@Test
+	void initialScheduleStartsWithoutHardViolations() {
+		List<Long> empIds = new ArrayList<>();
+		for (long i = 1; i <= EMPS; i++) empIds.add(i);
+
+		// 이전 달 말일에 절반이 N → 1~2일 D/E 후보가 줄어든 상태에서 시작
+		MonthPrefix prefix = new MonthPrefix(EMPS);
+		for (int i = 0; i < EMPS / 2; i++) prefix.set(i, 1, 3);
+
+		for (int seed = 0; seed < 5; seed++) {
+			Solution s = InitialSchedule.create(2025, 4, empIds, requirements(30), null, prefix,
+					new SplittableRandom(seed));
+			for (int i = 0; i < EMPS; i++) {
+				assertThat(s.violations(i)).isZero();
+			}
+			assertThat(s.breakdown().coverage()).isZero();
+			assertThat(s.breakdown().consecutive()).isZero();
+		}
+	}
+
+	private static int[][] requirements(int days) {
+		int[][] required = new int[days + 1][];
+		for (int d = 1; d <= days; d++) {
+			required[d] = (d % 7 < 2) ? new int[]{2, 2, 2} : new int[]{3, 2, 2};
+		}
+		return required;
+	}
+}